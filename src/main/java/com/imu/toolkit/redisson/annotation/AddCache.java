@@ -31,6 +31,49 @@ public @interface AddCache {
      */
     String prefix() default RedissonToolkitConstant.DEFAULT_CACHE_PREFIX;
 
+    /**
+     * 是否为缓存键主体添加hash tag
+     * 开启后缓存值、互斥锁等派生键在Redis Cluster中落在同一槽位，
+     * 与同一缓存配合使用的@AddCache和@RemoveCache需保持一致
+     */
+    boolean hashTag() default false;
+
+    /**
+     * 缓存区域
+     * 非空时同一缓存的所有条目作为字段存储在名为 prefix+region 的单个RMapCache中，
+     * 每个字段独立过期，缓存键作为字段名；清空缓存只需删除一个键，并减少顶层键的内存开销
+     */
+    String region() default "";
+
+    /**
+     * 概率性提前刷新系数（XFetch）
+     * 大于0时记录加载耗时，读取方根据剩余时间和加载耗时概率性地在过期前重建缓存，
+     * 通常只有一个读取方执行重建，其他读取方继续返回当前值；
+     * 推荐值1.0，越大越倾向提前刷新，0表示关闭
+     */
+    double earlyRefreshBeta() default 0;
+
+    /**
+     * 自适应过期时间下限
+     * 与adaptiveMaxExpire同时设置时启用自适应过期时间并替代expire：
+     * 本地按键统计近期访问频率，写入缓存时在上下限之间按频率线性取值，
+     * 热点键获得更长的过期时间，长尾键更快释放内存
+     */
+    String adaptiveMinExpire() default "";
+
+    /**
+     * 自适应过期时间上限
+     * 访问频率达到饱和的键使用该过期时间
+     */
+    String adaptiveMaxExpire() default "";
+
+    /**
+     * 自适应过期时间的预期活跃键数量
+     * 决定本地访问频率草图的大小（每个键约16字节），应不小于该方法近期被访问的不同键数量，
+     * 过小时大量键共用计数器，所有键的频率趋于相同，自适应过期时间退化为固定值
+     */
+    int adaptiveExpectedKeys() default 1024;
+
     /**
      * 缓存过期时间
      * 默认5分钟
@@ -61,4 +104,81 @@ public @interface AddCache {
      * 超过最大缓存击穿的互斥等待时间时的错误提示
      */
     String loadMutexTimeoutMsg() default "load data fail";
+
+    /**
+     * 是否使用异步等待模式
+     * 开启后基于Redisson异步原语等待互斥锁，并使用显式的持有者ID跟踪锁归属，
+     * 等待期间不会阻塞虚拟线程的载体线程；运行在虚拟线程上时自动启用
+     */
+    boolean asyncWait() default false;
+
+    /**
+     * 存储后端不可用时的降级策略
+     * FAIL_OPEN 绕过缓存直接调用原方法，同时调用原方法的数量受 {@link #degradeMaxConcurrency()} 限制；
+     * FAIL_CLOSED 抛出 loadMutexTimeoutMsg
+     */
+    DegradeStrategy degrade() default DegradeStrategy.FAIL_OPEN;
+
+    /**
+     * 降级绕过缓存时单个节点上同时调用原方法的最大数量，超出的请求最多等待 loadMutexMaxWait 后失败
+     */
+    int degradeMaxConcurrency() default 16;
+
+    /**
+     * 热点键副本数
+     * 大于1时同一条目写入多个落在不同槽位的副本键，每次读取随机选择一个副本，
+     * 使单个热点键的读取压力分散到多个节点；写入在一个管道批次中更新所有副本，
+     * 对应的@RemoveCache和@PutCache需设置相同的副本数；区域模式下不生效
+     */
+    int replicas() default 1;
+
+    /**
+     * 缓存读取节点
+     * REPLICA时首次读取路由到从节点，分担主节点的读取压力，适用于能容忍复制延迟内旧值的缓存；
+     * 从节点未命中时先读主节点，互斥锁内的双重检查和写入始终在主节点；区域模式下不生效
+     */
+    ReadFrom readFrom() default ReadFrom.MASTER;
+
+    /**
+     * 实体缓存键前缀
+     * 非空时开启规范化列表缓存：方法返回List或Set时，缓存键下只保存有序的实体ID，
+     * 每个实体单独缓存在 entityKey+ID 下，读取时一次批量读取还原列表；
+     * 同一实体在多个分页、多个查询条件中只保存一份，更新实体时只需刷新实体缓存，无需删除所有包含它的列表
+     * 例如："product:"
+     */
+    String entityKey() default "";
+
+    /**
+     * 实体ID表达式
+     * 以列表中的每个实体为根对象计算，例如："id", "getSku()"
+     */
+    String entityId() default "id";
+
+    /**
+     * 缺失实体加载表达式
+     * 还原列表时部分实体缓存已失效，通过该表达式只加载缺失的实体，可通过#ids访问缺失的ID列表，
+     * 通过@beanName引用Bean，返回实体集合，例如："@productRepository.findAllById(#ids)"；
+     * 为空或仍有实体缺失时按缓存未命中处理，重新调用原方法
+     */
+    String entityLoader() default "";
+
+    /**
+     * 实体缓存过期时间
+     * 为空时与列表使用相同的过期时间，建议不短于列表的过期时间，减少还原列表时的缺失
+     */
+    String entityExpire() default "";
+
+    /**
+     * 缓存值警告大小
+     * 序列化后超过该大小时记录警告，例如：512KB；为空时使用 imu.redisson.large-value.warn-size
+     * 独立键、热点键副本、缓存区域条目和规范化列表的实体都按该值检查；只有Redisson后端支持，其他后端下设置时启动失败
+     */
+    String warnSize() default "";
+
+    /**
+     * 缓存值大小上限
+     * 序列化后超过该大小时不写入缓存，本次直接返回方法结果，例如：4MB；为空时使用 imu.redisson.large-value.max-size
+     * 与warnSize的适用范围相同；超过分片阈值的值只有独立键分片存储，热点键副本和缓存区域条目整体写入
+     */
+    String maxSize() default "";
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.imu.toolkit.redisson.annotation;
+
+import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 并发限制注解（舱壁隔离）
+ * 限制同一个key在整个集群内同时执行的调用数量，适用于报表、导出等耗时接口，防止慢调用堆积
+ * 基于Redisson的RPermitExpirableSemaphore实现，持有方崩溃后许可在租期到期时自动归还
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimit {
+
+    /**
+     * 并发限制的前缀
+     * @return 前缀
+     */
+    String prefix() default RedissonToolkitConstant.DEFAULT_CONCURRENCY_LIMIT_PREFIX;
+
+    /**
+     * 并发限制的key，可以使用Spring EL表达式
+     * 例如："'export'", "#p0"
+     * @return 并发限制key
+     */
+    String key();
+
+    /**
+     * 集群内最大并发数
+     * 注意：许可总数只在信号量第一次创建时设置，修改后需删除对应的Redis键才会生效
+     * @return 最大并发数
+     */
+    int permits() default 10;
+
+    /**
+     * 本JVM内该方法的最大并发数
+     * 大于0时先检查本地并发数，超过后直接拒绝，不再访问Redis；0表示不限制
+     * @return 本地最大并发数
+     */
+    int localPermits() default 0;
+
+    /**
+     * 许可租期
+     * 需大于方法的最长执行时间，持有方崩溃后许可在租期到期时自动归还；必须为正数，不支持-1
+     * 支持格式：3s 13min 200ms 4h
+     * @return 许可租期
+     */
+    String lease() default "1min";
+
+    /**
+     * 获取许可的等待时间，本地和集群许可共用
+     * 支持格式：3s 13min 200ms 4h -1
+     * -1 表示不等待，直接拒绝
+     * @return 等待时间
+     */
+    String waitTime() default "0s";
+
+    /**
+     * 并发超限时的错误消息
+     * @return 错误消息
+     */
+    String errorMsg() default "系统繁忙，请稍后重试";
+
+    /**
+     * 是否使用异步等待模式
+     * 开启后基于Redisson异步原语等待许可，等待期间不会阻塞虚拟线程的载体线程；
+     * 运行在虚拟线程上时自动启用
+     * @return 是否异步等待
+     */
+    boolean asyncWait() default false;
+
+    /**
+     * 存储后端不可用时的降级策略
+     * FAIL_OPEN 只受localPermits限制直接执行，FAIL_CLOSED 按并发超限处理
+     * @return 降级策略
+     */
+    DegradeStrategy degrade() default DegradeStrategy.FAIL_OPEN;
+}
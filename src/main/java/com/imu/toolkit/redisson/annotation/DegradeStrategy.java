@@ -0,0 +1,19 @@
+package com.imu.toolkit.redisson.annotation;
+
+/**
+ * 存储后端不可用时的降级策略
+ * 仅在开启 imu.redisson.degrade.enabled 后生效，后端熔断或操作超过延迟预算时按该策略处理
+ */
+public enum DegradeStrategy {
+
+    /**
+     * 放行：跳过依赖后端的检查继续执行
+     * 缓存注解绕过缓存直接调用原方法（受本地并发上限保护），限流和防重复提交直接放行，分布式锁不加锁执行
+     */
+    FAIL_OPEN,
+
+    /**
+     * 拒绝：按注解的错误消息抛出异常
+     */
+    FAIL_CLOSED
+}
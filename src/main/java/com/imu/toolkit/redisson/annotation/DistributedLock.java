@@ -31,6 +31,13 @@ public @interface DistributedLock {
      */
     String key();
 
+    /**
+     * 是否为锁名称主体添加hash tag
+     * 开启后锁与键主体相同、同样开启hashTag的缓存键在Redis Cluster中落在同一槽位
+     * @return 是否添加hash tag
+     */
+    boolean hashTag() default false;
+
     /**
      * 锁的过期时间
      * 支持格式：3s 13min 200ms 4h 7day  -1
@@ -46,4 +53,19 @@ public @interface DistributedLock {
      * @return 等待时间
      */
     String waitTime() default "5s";
+
+    /**
+     * 是否使用异步等待模式
+     * 开启后基于Redisson异步原语等待锁，并使用显式的持有者ID跟踪锁归属，
+     * 等待期间不会阻塞虚拟线程的载体线程；运行在虚拟线程上时自动启用
+     * @return 是否异步等待
+     */
+    boolean asyncWait() default false;
+
+    /**
+     * 存储后端不可用时的降级策略
+     * FAIL_CLOSED 按获取锁失败处理，FAIL_OPEN 不加锁直接执行（仅适用于重复执行无害的场景）
+     * @return 降级策略
+     */
+    DegradeStrategy degrade() default DegradeStrategy.FAIL_CLOSED;
 }
\ No newline at end of file
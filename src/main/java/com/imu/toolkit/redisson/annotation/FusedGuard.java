@@ -0,0 +1,24 @@
+package com.imu.toolkit.redisson.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 融合检查注解
+ * 与 {@link RateLimit}、{@link IntervalLock}、{@link AddCache} 中的任意组合一起使用，
+ * 将限流检查、防重复提交标记和缓存读取合并为一次服务端Lua脚本执行，调用前只需一次网络往返
+ * <p>
+ * 融合模式下：
+ * 1. 限流使用基于有序集合的滑动窗口实现，与单独使用@RateLimit是同一个键；被限流且窗口内最早的请求在waitTime内过期时，
+ *    等到其过期后重新执行整个脚本重试，每次重试都是一次完整的EVAL往返，直到获得配额或等待时间用完；waitTime为-1时不等待
+ * 2. 防重复提交使用SET NX原子标记
+ * 3. 区域模式的缓存不在脚本中读取，由缓存流程自行读取
+ * 4. Redis Cluster下相关键不在同一槽位时（可对各注解开启hashTag并使用相同的键主体对齐），自动退化为逐个检查
+ * 5. 非Redisson存储后端不支持脚本，自动退化为逐个检查
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FusedGuard {
+}
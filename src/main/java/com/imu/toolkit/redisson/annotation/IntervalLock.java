@@ -32,6 +32,13 @@ public @interface IntervalLock {
      */
     String key() default "#userId";
 
+    /**
+     * 是否为防重复提交键主体添加hash tag
+     * 只包含key的解析结果，参数签名不参与槽位计算；与@RateLimit、@AddCache配合 {@link FusedGuard} 使用时需保持一致
+     * @return 是否添加hash tag
+     */
+    boolean hashTag() default false;
+
     /**
      * 过期时间，在这段时间内禁止重复操作
      * 支持格式：3s 13min 200ms 4h 7day 1month -1
@@ -56,4 +63,11 @@ public @interface IntervalLock {
      * @return 忽略的参数列表
      */
     String[] ignoreParams() default {"timestamp", "_"};
+
+    /**
+     * 存储后端不可用时的降级策略
+     * FAIL_OPEN 直接放行，FAIL_CLOSED 按重复提交处理
+     * @return 降级策略
+     */
+    DegradeStrategy degrade() default DegradeStrategy.FAIL_OPEN;
 }
\ No newline at end of file
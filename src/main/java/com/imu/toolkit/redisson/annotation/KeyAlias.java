@@ -0,0 +1,22 @@
+package com.imu.toolkit.redisson.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法键别名
+ * 开启紧凑键（imu.redisson.key.compact=true）后，缓存、锁、限流等注解在键中使用该别名代替方法的短哈希，
+ * 便于在Redis中辨认；未开启紧凑键时不生效
+ * 别名在容器内必须唯一，不能包含 : { } 和空白字符
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface KeyAlias {
+
+    /**
+     * 别名，例如 "product.get"
+     */
+    String value();
+}
@@ -0,0 +1,88 @@
+package com.imu.toolkit.redisson.annotation;
+
+import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 写穿缓存注解
+ * 方法执行成功后将返回值（或其中的一部分）写入缓存，缓存键规则与 {@link AddCache} 一致，
+ * 用于更新热点数据时刷新缓存而不是删除，避免下一次读取走完整的回源流程
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PutCache {
+
+    /**
+     * 缓存键
+     * 支持SpEL表达式，可通过#result访问方法返回值
+     * 例如："product:#{#product.id}", "'product:' + #result.id"
+     * 指定多个键时，所有键在一个管道批次中写入
+     */
+    String[] key();
+
+    /**
+     * 缓存前缀
+     * 与对应@AddCache的prefix保持一致
+     */
+    String prefix() default RedissonToolkitConstant.DEFAULT_CACHE_PREFIX;
+
+    /**
+     * 缓存值
+     * SpEL表达式，通过#result选取返回值的一部分写入缓存，为空时写入整个返回值
+     * 例如："#result.product"
+     */
+    String value() default "";
+
+    /**
+     * 缓存过期时间
+     * 支持格式：3s 13min 200ms 4h -1
+     */
+    String expire() default "5min";
+
+    /**
+     * 防雪崩时间浮动范围
+     * 默认200ms
+     */
+    String expireRange() default "200ms";
+
+    /**
+     * 是否为缓存键主体添加hash tag
+     * 与对应@AddCache的hashTag保持一致
+     */
+    boolean hashTag() default false;
+
+    /**
+     * 热点键副本数
+     * 与对应@AddCache的replicas保持一致，写入时更新所有副本
+     */
+    int replicas() default 1;
+
+    /**
+     * 概率性提前刷新系数
+     * 与对应@AddCache的earlyRefreshBeta保持一致，大于0时写入的值连同过期时刻一起包装，
+     * 以本方法的执行耗时作为重建成本的估计，使写穿的条目同样可以被提前刷新
+     */
+    double earlyRefreshBeta() default 0;
+
+    /**
+     * 缓存区域
+     * 与对应@AddCache的region保持一致
+     */
+    String region() default "";
+
+    /**
+     * 缓存值警告大小
+     * 与@AddCache的warnSize含义相同
+     */
+    String warnSize() default "";
+
+    /**
+     * 缓存值大小上限
+     * 与@AddCache的maxSize含义相同，超过上限时删除旧的缓存条目，避免旧值继续被读取
+     */
+    String maxSize() default "";
+}
@@ -9,7 +9,7 @@ import java.lang.annotation.Target;
 /**
  * 限流注解
  * 用于方法级别的流量控制
- * 基于Redisson原生的RRateLimiter实现
+ * 基于滑动窗口实现，窗口内的请求记录在同一个键上，调整阈值或时间窗口时原地生效
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -33,12 +33,51 @@ public @interface RateLimit {
      */
     String key();
 
+    /**
+     * 是否为限流键主体添加hash tag
+     * 开启后与键主体相同、同样开启hashTag的@IntervalLock、@AddCache键在Redis Cluster中落在同一槽位，
+     * 同时标注 {@link FusedGuard} 时可合并为一次脚本执行
+     * @return 是否添加hash tag
+     */
+    boolean hashTag() default false;
+
     /**
      * 单位时间内允许的请求数
+     * 开启自适应限流时作为初始阈值
      * @return 请求数
      */
     int limit() default 10;
 
+    /**
+     * 自适应限流阈值下限
+     * 与adaptiveMaxLimit同时大于0时开启自适应限流：每个时间窗口（至少1秒）评估一次被保护方法的表现，
+     * 异常率或P90延迟超标时阈值乘性下降，健康且出现过限流拒绝时加性增长，阈值在集群内共享；
+     * 同一方法的所有限流key共用一个阈值
+     * @return 阈值下限
+     */
+    int adaptiveMinLimit() default 0;
+
+    /**
+     * 自适应限流阈值上限
+     * @return 阈值上限
+     */
+    int adaptiveMaxLimit() default 0;
+
+    /**
+     * 自适应限流的慢调用阈值
+     * 周期内超过10%的调用耗时超过该值（即P90超标）时判定为不健康
+     * 支持格式：3s 13min 200ms 4h
+     * @return 慢调用阈值
+     */
+    String adaptiveLatencyThreshold() default "1s";
+
+    /**
+     * 自适应限流的异常率上限
+     * 方法抛出的异常计为错误，周期内异常率超过该值时判定为不健康
+     * @return 异常率上限
+     */
+    double adaptiveMaxErrorRate() default 0.1;
+
     /**
      * 时间窗口
      * 支持格式：3s 13min 200ms 4h 7day 1month
@@ -59,4 +98,19 @@ public @interface RateLimit {
      * @return 错误消息
      */
     String errorMsg() default "请求过于频繁，请稍后重试";
+
+    /**
+     * 是否使用异步等待模式
+     * 开启后基于Redisson异步原语等待令牌，等待期间不会阻塞虚拟线程的载体线程；
+     * 运行在虚拟线程上时自动启用
+     * @return 是否异步等待
+     */
+    boolean asyncWait() default false;
+
+    /**
+     * 存储后端不可用时的降级策略
+     * FAIL_OPEN 直接放行，FAIL_CLOSED 按限流失败处理
+     * @return 降级策略
+     */
+    DegradeStrategy degrade() default DegradeStrategy.FAIL_OPEN;
 }
\ No newline at end of file
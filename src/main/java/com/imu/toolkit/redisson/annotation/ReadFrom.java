@@ -0,0 +1,19 @@
+package com.imu.toolkit.redisson.annotation;
+
+/**
+ * 缓存读取节点
+ * 仅在Redisson后端的主从、哨兵、集群部署下有区别，单节点部署和内存后端均读取同一节点
+ */
+public enum ReadFrom {
+
+    /**
+     * 从主节点读取，读取到的总是最新写入的值
+     */
+    MASTER,
+
+    /**
+     * 从从节点读取，可能读到复制延迟内的旧值，读取能力随从节点数量扩展；
+     * 从节点未命中时先读主节点再决定是否加载，复制延迟不会引起多余的加载
+     */
+    REPLICA
+}
@@ -29,10 +29,49 @@ public @interface RemoveCache {
      * 不能为空
      */
     String prefix() default RedissonToolkitConstant.DEFAULT_CACHE_PREFIX;;
+
+    /**
+     * 是否为缓存键主体添加hash tag
+     * 开启后缓存值、互斥锁等派生键在Redis Cluster中落在同一槽位，
+     * 与同一缓存配合使用的@AddCache和@RemoveCache需保持一致
+     */
+    boolean hashTag() default false;
+
+    /**
+     * 热点键副本数
+     * 与对应@AddCache的replicas保持一致，删除时清除所有副本
+     */
+    int replicas() default 1;
+
+    /**
+     * 缓存区域
+     * 与对应@AddCache的region保持一致，非空时删除区域中的字段
+     */
+    String region() default "";
+
+    /**
+     * 是否清空整个缓存区域
+     * 仅在region非空时生效，为true时忽略key，单次删除整个区域
+     */
+    boolean clearRegion() default false;
     
     /**
      * 是否在方法执行前清除缓存
      * 默认为false，即在方法执行后清除
      */
     boolean beforeInvocation() default false;
+
+    /**
+     * 是否异步删除
+     * 为true时缓存键进入失效管道后立即返回，短时间窗口内重复的键合并后以批量UNLINK删除，失败自动重试；
+     * 仅对普通缓存键生效，区域模式仍同步删除
+     */
+    boolean async() default false;
+
+    /**
+     * 延迟双删的间隔
+     * 非空时在首次删除后经过该时间再删除一次，清除并发加载方写回的旧值，
+     * 建议略大于对应@AddCache的加载耗时；仅对普通缓存键生效，为空表示关闭
+     */
+    String delayedDelete() default "";
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.imu.toolkit.redisson.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存预热注解
+ * 与 {@link AddCache} 配合使用，声明预热时需要加载的参数来源
+ * 应用启动或手动触发时，按参数集调用原方法并批量写入缓存，已存在的键会被跳过
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WarmUpCache {
+
+    /**
+     * 参数来源，Spring EL表达式，支持通过@引用Bean
+     * 表达式结果为集合或数组，每个元素为一组参数：
+     * Object[]按位置作为方法参数，其他对象作为单个参数
+     * 例如："@productService.hotProductIds()"
+     * @return 参数来源表达式
+     */
+    String source();
+
+    /**
+     * 加载并发度
+     * @return 同时执行加载的批次数
+     */
+    int parallelism() default 4;
+
+    /**
+     * 每批的参数组数量
+     * 同一批次的存在性检查和写入各通过一次管道完成
+     * @return 批大小
+     */
+    int batchSize() default 100;
+
+    /**
+     * 是否在应用启动时预热
+     * 为false时仅在手动触发时预热
+     * @return 是否启动时预热
+     */
+    boolean onStartup() default true;
+}
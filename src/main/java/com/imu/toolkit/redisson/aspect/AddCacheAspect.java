@@ -1,122 +1,395 @@
 package com.imu.toolkit.redisson.aspect;
 
 import com.imu.toolkit.redisson.annotation.AddCache;
+import com.imu.toolkit.redisson.annotation.DegradeStrategy;
+import com.imu.toolkit.redisson.annotation.ReadFrom;
+import com.imu.toolkit.redisson.backend.BackendLock;
+import com.imu.toolkit.redisson.backend.BackendUnavailableException;
 import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
 import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.AsyncWaitUtil;
+import com.imu.toolkit.redisson.utils.CacheEnvelope;
+import com.imu.toolkit.redisson.utils.EntityIdList;
+import com.imu.toolkit.redisson.utils.EntityListCache;
+import com.imu.toolkit.redisson.utils.FrequencySketch;
 import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.RequestMemo;
 import com.imu.toolkit.redisson.utils.TimeUtil;
+import com.imu.toolkit.redisson.utils.ValueTooLargeException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.redisson.api.RLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 添加缓存切面实现
  * 提供缓存功能，支持防雪崩、防击穿和防穿透机制
- * 纯基于Redisson实现，不使用本地缓存
+ * 基于存储后端实现，默认使用Redisson，不使用本地缓存
  */
 @Aspect
 @Component
 public class AddCacheAspect {
 
-    private static final Random RANDOM = new Random();
-    
+    private static final Logger logger = LoggerFactory.getLogger(AddCacheAspect.class);
+
+    /**
+     * 每个启用自适应过期时间的方法一个访问频率草图
+     */
+    private final Map<Method, FrequencySketch> frequencySketches = new ConcurrentHashMap<>();
+
+    /**
+     * 每个方法降级绕过缓存时的本地并发许可
+     */
+    private final Map<Method, Semaphore> degradePermits = new ConcurrentHashMap<>();
+
     @Autowired
     private RCache rCache;
 
-    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.AddCache)")
+    @Autowired
+    private ParameterOverrides overrides;
+
+    @Autowired
+    private EntityListCache entityListCache;
+
+    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.AddCache) && !@annotation(com.imu.toolkit.redisson.annotation.FusedGuard)")
     public void addCachePointCut() {}
 
     @Around("addCachePointCut()")
-    @SuppressWarnings("unchecked")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
         AddCache annotation = method.getAnnotation(AddCache.class);
 
-        // 生成缓存键
-        String cacheKey = AspectUtil.parseKeyOrUsePath(joinPoint, method, annotation.key(), annotation.prefix());
+        return cacheAround(joinPoint, method, annotation, false, null);
+    }
+
+    /**
+     * 解析独立键模式下的缓存键
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @return 缓存键，开启热点键副本时为随机选择的副本键，区域模式下返回null
+     */
+    public String resolveStandaloneCacheKey(ProceedingJoinPoint joinPoint, Method method, AddCache annotation) {
+        if (AspectUtil.buildRegionName(annotation.prefix(), annotation.region(), annotation.hashTag()) != null) {
+            return null;
+        }
+        String cacheKey = AspectUtil.parseKeyOrUsePath(joinPoint, method, annotation.key(), annotation.prefix(), annotation.hashTag());
+        // 预读取的值来自随机选择的副本
+        return rCache.randomReplicaKey(cacheKey, annotation.replicas());
+    }
+
+    /**
+     * 缓存处理流程
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @param prefetched 是否已预先读取缓存（如融合脚本中已读取）
+     * @param prefetchedValue 预先读取的缓存值
+     * @return 方法结果
+     */
+    public Object cacheAround(ProceedingJoinPoint joinPoint, Method method, AddCache annotation,
+                              boolean prefetched, Object prefetchedValue) throws Throwable {
+        // 生成缓存键，区域模式下缓存键作为区域内的字段名
+        String regionName = AspectUtil.buildRegionName(annotation.prefix(), annotation.region(), annotation.hashTag());
+        String cacheKey = regionName == null
+                ? AspectUtil.parseKeyOrUsePath(joinPoint, method, annotation.key(), annotation.prefix(), annotation.hashTag())
+                : AspectUtil.parseKeyOrUsePath(joinPoint, method, annotation.key(), "");
+
+        // 请求级备忘：作用域内相同的键只解析一次
+        if (RequestMemo.isActive()) {
+            return RequestMemo.computeIfAbsent(regionName == null ? cacheKey : regionName + ":" + cacheKey,
+                    () -> resolveCache(joinPoint, method, annotation, prefetched, prefetchedValue, regionName, cacheKey));
+        }
+        return resolveCache(joinPoint, method, annotation, prefetched, prefetchedValue, regionName, cacheKey);
+    }
+
+    /**
+     * 读取缓存，未命中时在互斥锁保护下加载并写入
+     * @param regionName 区域名，为null时使用独立键
+     * @param cacheKey 缓存键，区域模式下为字段名
+     */
+    private Object resolveCache(ProceedingJoinPoint joinPoint, Method method, AddCache annotation, boolean prefetched,
+                                Object prefetchedValue, String regionName, String cacheKey) throws Throwable {
+        // 记录访问频率，用于自适应过期时间
+        FrequencySketch sketch = null;
+        if (isAdaptiveExpire(annotation)) {
+            sketch = frequencySketches.computeIfAbsent(method, m -> new FrequencySketch(annotation.adaptiveExpectedKeys()));
+            sketch.increment(cacheKey);
+        }
+
+        // 获取分布式锁防止缓存击穿
+        String mutexKey = regionName == null ? cacheKey : regionName + ":" + cacheKey;
+        BackendLock mutexLock = rCache.getBackendLock(RedissonToolkitConstant.CACHE_LOAD_MUTEX_LOCK_PREFIX + mutexKey);
+
+        // 异步等待模式下使用线程固定的显式持有者ID，否则以当前线程为持有者，两者均可重入
+        long ownerId = AsyncWaitUtil.ownerId(AsyncWaitUtil.shouldUseAsyncWait(annotation.asyncWait()));
+
+        // 解析锁参数
+        long maxWaitMs = TimeUtil.parseTimeToMillis(overrides.get(method, annotation, annotation.prefix(),
+                "loadMutexMaxWait", annotation.loadMutexMaxWait()));
+        long leaseMs = Math.max(TimeUtil.parseTimeToMillis(overrides.get(method, annotation, annotation.prefix(),
+                "loadMutexLockLeaseTime", annotation.loadMutexLockLeaseTime())), maxWaitMs);
 
         // 尝试从缓存获取
-        Object cacheValue = rCache.get(cacheKey);
+        Object cacheValue;
+        try {
+            cacheValue = prefetched ? prefetchedValue : readCacheTolerant(annotation, regionName, cacheKey);
+            cacheValue = resolveEntities(joinPoint, method, annotation, cacheValue);
+        } catch (BackendUnavailableException e) {
+            return degradedLoad(joinPoint, method, annotation, maxWaitMs, e);
+        }
+        if (cacheValue instanceof CacheEnvelope envelope) {
+            // 概率性提前刷新：命中者不等待互斥锁，抢不到锁说明已有其他读取方在重建，直接返回当前值
+            if (envelope.shouldRefreshEarly(annotation.earlyRefreshBeta())) {
+                boolean locked = false;
+                try {
+                    locked = mutexLock.tryLock(0, leaseMs, ownerId);
+                    if (locked) {
+                        // 其他读取方可能刚完成重建并释放锁，重新读取避免重复加载
+                        Object latest = resolveEntities(joinPoint, method, annotation, readCache(annotation, regionName, cacheKey));
+                        if (latest instanceof CacheEnvelope refreshed) {
+                            if (refreshed.getExpireAt() != envelope.getExpireAt()) {
+                                return refreshed.getValue();
+                            }
+                        } else if (latest != null) {
+                            return latest;
+                        }
+                        return loadAndWrite(joinPoint, method, annotation, regionName, cacheKey);
+                    }
+                } catch (BackendUnavailableException e) {
+                    // 后端不可用时不刷新，返回当前值
+                    logger.debug("提前刷新获取互斥锁失败，返回当前缓存值: {}", cacheKey, e);
+                } catch (Throwable e) {
+                    // 调用方已有可用的缓存值，提前刷新失败不影响本次返回
+                    logger.warn("提前刷新加载失败，返回当前缓存值: {}", cacheKey, e);
+                } finally {
+                    if (locked) {
+                        mutexLock.unlock(ownerId);
+                    }
+                }
+            }
+            return envelope.getValue();
+        }
         if (cacheValue != null) {
             return cacheValue;
         }
 
-        // 获取分布式锁防止缓存击穿
-        RLock mutexLock = rCache.getLock(RedissonToolkitConstant.CACHE_LOAD_MUTEX_LOCK_PREFIX + cacheKey);
-        
         boolean locked = false;
         try {
-            // 解析锁参数
-            long maxWaitMs = TimeUtil.parseTimeToMillis(annotation.loadMutexMaxWait());
-            long maxLeaseMs = TimeUtil.parseTimeToMillis(annotation.loadMutexLockLeaseTime());
-
-            // 尝试获取锁
-            locked = mutexLock.tryLock(maxWaitMs, Math.max(maxLeaseMs, maxWaitMs), TimeUnit.MILLISECONDS);
-            if (!locked) {
-                throw new RuntimeException(annotation.loadMutexTimeoutMsg());
+            // 尝试获取锁并双重检查缓存，后端不可用时按降级策略处理
+            try {
+                locked = mutexLock.tryLock(maxWaitMs, leaseMs, ownerId);
+                if (!locked) {
+                    throw new RuntimeException(annotation.loadMutexTimeoutMsg());
+                }
+                cacheValue = resolveEntities(joinPoint, method, annotation, readCache(annotation, regionName, cacheKey));
+            } catch (BackendUnavailableException e) {
+                return degradedLoad(joinPoint, method, annotation, maxWaitMs, e);
+            }
+            if (cacheValue instanceof CacheEnvelope envelope) {
+                return envelope.getValue();
             }
-
-            // 双重检查缓存
-            cacheValue = rCache.get(cacheKey);
             if (cacheValue != null) {
                 return cacheValue;
             }
 
-            // 执行原方法
-            Object value = joinPoint.proceed();
-
-            // 设置缓存，支持防雪崩的过期时间随机抖动
-            String expire = annotation.expire();
-            if (!expire.isEmpty()) {
-                // 添加随机抖动，防止缓存雪崩
-                String expireWithRandom = addRandomJitter(expire, annotation.expireRange());
-                rCache.set(cacheKey, value, expireWithRandom);
-            } else {
-                rCache.set(cacheKey, value);
-            }
-
-            return value;
+            // 执行原方法并设置缓存
+            return loadAndWrite(joinPoint, method, annotation, regionName, cacheKey);
         } finally {
             // 释放锁
-            if (locked && mutexLock.isHeldByCurrentThread()) {
-                mutexLock.unlock();
+            if (locked) {
+                mutexLock.unlock(ownerId);
             }
         }
     }
-    
+
+    /**
+     * 执行原方法并写入缓存，记录加载耗时用于提前刷新判断
+     */
+    private Object loadAndWrite(ProceedingJoinPoint joinPoint, Method method, AddCache annotation, String regionName,
+                                String cacheKey) throws Throwable {
+        long startNanos = System.nanoTime();
+        Object value = joinPoint.proceed();
+        long computeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // 设置缓存，支持防雪崩的过期时间随机抖动
+        String expire = resolveExpire(method, annotation, cacheKey);
+        String expireRange = resolveExpireRange(method, annotation);
+        try {
+            writeCache(method, annotation, regionName, cacheKey, value, computeMs, expire, expireRange);
+        } catch (BackendUnavailableException e) {
+            // 已加载的结果照常返回，只是本次不写入缓存
+            logger.warn("存储后端不可用，跳过写入缓存: {}", cacheKey, e);
+        } catch (ValueTooLargeException e) {
+            // 大值不写入缓存，避免阻塞Redis和网络，本次结果照常返回
+            logger.warn("缓存值超过大小上限，跳过写入缓存: {}", e.getMessage());
+        }
+        return value;
+    }
+
+    /**
+     * 降级加载：存储后端不可用时按注解的降级策略处理
+     * FAIL_OPEN 绕过缓存直接调用原方法，同一方法的并发调用数受本地许可限制，防止缓存失效后压垮数据源
+     */
+    private Object degradedLoad(ProceedingJoinPoint joinPoint, Method method, AddCache annotation, long maxWaitMs,
+                                BackendUnavailableException cause) throws Throwable {
+        if (annotation.degrade() == DegradeStrategy.FAIL_CLOSED) {
+            throw new RuntimeException(annotation.loadMutexTimeoutMsg(), cause);
+        }
+        Semaphore permits = degradePermits.computeIfAbsent(method, m -> new Semaphore(annotation.degradeMaxConcurrency()));
+        if (!permits.tryAcquire(Math.max(0, maxWaitMs), TimeUnit.MILLISECONDS)) {
+            throw new RuntimeException(annotation.loadMutexTimeoutMsg(), cause);
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 解析写入缓存的过期时间
+     * 开启自适应过期时间时按本地访问频率计算，否则使用注解值，可被运行时参数覆盖
+     * @param method 方法
+     * @param annotation 注解
+     * @param cacheKey 缓存键
+     * @return 过期时间，为空时永不过期
+     */
+    public String resolveExpire(Method method, AddCache annotation, String cacheKey) {
+        if (isAdaptiveExpire(annotation)) {
+            return resolveAdaptiveExpire(annotation, frequencySketches.get(method), cacheKey);
+        }
+        return overrides.get(method, annotation, annotation.prefix(), "expire", annotation.expire());
+    }
+
+    /**
+     * 解析过期时间随机抖动范围，可被运行时参数覆盖
+     * @param method 方法
+     * @param annotation 注解
+     * @return 抖动范围
+     */
+    public String resolveExpireRange(Method method, AddCache annotation) {
+        return overrides.get(method, annotation, annotation.prefix(), "expireRange", annotation.expireRange());
+    }
+
+    /**
+     * 是否启用自适应过期时间
+     */
+    public static boolean isAdaptiveExpire(AddCache annotation) {
+        return !annotation.adaptiveMinExpire().isEmpty() && !annotation.adaptiveMaxExpire().isEmpty();
+    }
+
     /**
-     * 添加过期时间随机抖动，防止缓存雪崩
-     * @param expireTime 原始过期时间字符串
-     * @param range 随机范围时间字符串（毫秒）
-     * @return 带随机抖动的过期时间字符串
+     * 按访问频率在上下限之间线性计算过期时间
+     * @param annotation 注解
+     * @param sketch 访问频率草图，尚未记录访问时为null，按最低频率计算
+     * @param cacheKey 缓存键
+     * @return 过期时间字符串
      */
-    private String addRandomJitter(String expireTime, String range) {
-        long rangeMs = TimeUtil.parseTimeToMillis(range);
-        if (rangeMs <= 0) {
-            return expireTime;
-        }
-        
-        long expireMs = TimeUtil.parseTimeToMillis(expireTime);
-        if (expireMs <= 0) {
-            return expireTime;
-        }
-        
-        // 计算随机偏移量
-        long jitter = RANDOM.nextLong(rangeMs) + 1; // 确保至少1毫秒的偏移
-        
-        // 随机增加或减少，50%概率
-        expireMs += jitter;
-        
+    private String resolveAdaptiveExpire(AddCache annotation, FrequencySketch sketch, String cacheKey) {
+        long minMs = TimeUtil.parseTimeToMillis(annotation.adaptiveMinExpire());
+        long maxMs = TimeUtil.parseTimeToMillis(annotation.adaptiveMaxExpire());
+        if (maxMs <= minMs) {
+            return annotation.adaptiveMinExpire();
+        }
+        int frequency = sketch != null ? sketch.frequency(cacheKey) : 0;
+        long expireMs = minMs + (maxMs - minMs) * frequency / FrequencySketch.MAX_FREQUENCY;
         return expireMs + "ms";
     }
-}
\ No newline at end of file
+
+    /**
+     * 首次读取缓存，允许读取从节点时先读从节点，未命中时可能只是复制延迟，再读一次主节点
+     * @param annotation 注解
+     * @param regionName 区域名，为null时使用独立键
+     * @param cacheKey 缓存键，区域模式下为字段名
+     * @return 缓存值
+     */
+    private Object readCacheTolerant(AddCache annotation, String regionName, String cacheKey) {
+        if (regionName != null || annotation.readFrom() != ReadFrom.REPLICA) {
+            return readCache(annotation, regionName, cacheKey);
+        }
+        Object value = rCache.getFromReplicaNode(rCache.randomReplicaKey(cacheKey, annotation.replicas()));
+        return value != null ? value : readCache(annotation, regionName, cacheKey);
+    }
+
+    /**
+     * 读取缓存，开启热点键副本时随机读取一个副本
+     * @param annotation 注解
+     * @param regionName 区域名，为null时使用独立键
+     * @param cacheKey 缓存键，区域模式下为字段名
+     * @return 缓存值
+     */
+    private Object readCache(AddCache annotation, String regionName, String cacheKey) {
+        if (regionName != null) {
+            return rCache.regionGet(regionName, cacheKey);
+        }
+        return annotation.replicas() > 1 ? rCache.getReplica(cacheKey, annotation.replicas()) : rCache.get(cacheKey);
+    }
+
+    /**
+     * 规范化列表缓存中读取到的ID列表还原为实体集合，其他缓存值原样返回
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @param cacheValue 缓存值
+     * @return 还原后的缓存值，有实体无法补齐时返回null，按缓存未命中处理
+     */
+    private Object resolveEntities(ProceedingJoinPoint joinPoint, Method method, AddCache annotation, Object cacheValue) {
+        Object stored = cacheValue instanceof CacheEnvelope envelope ? envelope.getValue() : cacheValue;
+        if (!(stored instanceof EntityIdList idList)) {
+            return cacheValue;
+        }
+        Object entities = entityListCache.hydrate(joinPoint.getTarget(), method, joinPoint.getArgs(), annotation, idList,
+                overrides.get(method, annotation, annotation.prefix(), "expire", annotation.expire()),
+                overrides.get(method, annotation, annotation.prefix(), "expireRange", annotation.expireRange()));
+        if (entities != null && cacheValue instanceof CacheEnvelope envelope) {
+            return new CacheEnvelope(entities, envelope.getComputeMs(), envelope.getExpireAt());
+        }
+        return entities;
+    }
+
+    /**
+     * 写入缓存，支持防雪崩的过期时间随机抖动
+     * 开启提前刷新时，非空值连同加载耗时和过期时刻一起写入；开启规范化列表缓存时只写入实体ID列表
+     * @param method 方法
+     * @param annotation 注解
+     * @param regionName 区域名，为null时使用独立键
+     * @param cacheKey 缓存键，区域模式下为字段名
+     * @param value 缓存值
+     * @param computeMs 加载耗时（毫秒）
+     * @param expire 过期时间，为空时永不过期
+     * @param expireRange 过期时间随机抖动范围
+     */
+    private void writeCache(Method method, AddCache annotation, String regionName, String cacheKey, Object value,
+                            long computeMs, String expire, String expireRange) {
+        Object storeValue = EntityListCache.isEnabled(annotation)
+                ? entityListCache.normalize(method, annotation, value, expire, expireRange)
+                : value;
+        if (!expire.isEmpty()) {
+            // 添加随机抖动，防止缓存雪崩
+            expire = TimeUtil.addRandomJitter(expire, expireRange);
+            storeValue = CacheEnvelope.wrap(storeValue, annotation.earlyRefreshBeta(), computeMs, expire);
+        }
+        if (regionName != null) {
+            rCache.regionPut(regionName, cacheKey, storeValue, expire, annotation.warnSize(), annotation.maxSize());
+        } else if (annotation.replicas() > 1) {
+            // 所有副本使用相同的过期时间，同时失效
+            rCache.setReplicated(cacheKey, storeValue, expire, annotation.replicas(), annotation.warnSize(), annotation.maxSize());
+        } else {
+            rCache.set(cacheKey, storeValue, expire.isEmpty() ? "-1" : expire, annotation.warnSize(), annotation.maxSize());
+        }
+    }
+}
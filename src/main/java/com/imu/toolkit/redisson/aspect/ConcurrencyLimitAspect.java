@@ -0,0 +1,138 @@
+package com.imu.toolkit.redisson.aspect;
+
+import com.imu.toolkit.redisson.annotation.ConcurrencyLimit;
+import com.imu.toolkit.redisson.annotation.DegradeStrategy;
+import com.imu.toolkit.redisson.backend.BackendSemaphore;
+import com.imu.toolkit.redisson.backend.BackendUnavailableException;
+import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
+import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.AsyncWaitUtil;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发限制切面实现
+ * 先检查本地信号量，再获取集群许可可过期信号量的许可，方法执行完成后归还
+ */
+@Aspect
+@Component
+public class ConcurrencyLimitAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitAspect.class);
+
+    @Autowired
+    private RCache rCache;
+
+    @Autowired
+    private ParameterOverrides overrides;
+
+    /**
+     * 每个方法的本地信号量
+     */
+    private final Map<Method, Semaphore> localSemaphores = new ConcurrentHashMap<>();
+
+    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.ConcurrencyLimit)")
+    public void concurrencyLimitPointCut() {}
+
+    @Around("concurrencyLimitPointCut()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        ConcurrencyLimit annotation = method.getAnnotation(ConcurrencyLimit.class);
+
+        long waitTimeMillis = Math.max(0, TimeUtil.parseTimeToMillis(
+                overrides.get(method, annotation, annotation.prefix(), "waitTime", annotation.waitTime())));
+        long deadline = System.currentTimeMillis() + waitTimeMillis;
+
+        // 本地并发检查，超限时无需访问Redis
+        Semaphore localSemaphore = annotation.localPermits() > 0
+                ? localSemaphores.computeIfAbsent(method, m -> new Semaphore(annotation.localPermits()))
+                : null;
+        if (localSemaphore != null && !localSemaphore.tryAcquire(waitTimeMillis, TimeUnit.MILLISECONDS)) {
+            throw new RuntimeException(annotation.errorMsg());
+        }
+        try {
+            String fullKey = resolveFullKey(joinPoint, method, annotation);
+            BackendSemaphore semaphore = null;
+            String permitId = null;
+            try {
+                long leaseMillis = TimeUtil.parseTimeToMillis(
+                        overrides.get(method, annotation, annotation.prefix(), "lease", annotation.lease()));
+                if (leaseMillis <= 0) {
+                    // 永不过期的许可在持有方崩溃后无法归还
+                    throw new IllegalArgumentException("@ConcurrencyLimit lease must be positive: " + method);
+                }
+                semaphore = rCache.getSemaphore(fullKey, annotation.permits());
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                permitId = semaphore.tryAcquire(remaining, leaseMillis,
+                        AsyncWaitUtil.shouldUseAsyncWait(annotation.asyncWait()));
+                if (permitId == null) {
+                    throw new RuntimeException(annotation.errorMsg());
+                }
+            } catch (BackendUnavailableException e) {
+                // 存储后端不可用，按降级策略执行或拒绝
+                if (annotation.degrade() == DegradeStrategy.FAIL_CLOSED) {
+                    throw new RuntimeException(annotation.errorMsg());
+                }
+                logger.warn("存储后端不可用，跳过集群并发限制: {}", fullKey);
+            }
+
+            try {
+                return joinPoint.proceed();
+            } finally {
+                if (permitId != null) {
+                    release(semaphore, permitId, fullKey);
+                }
+            }
+        } finally {
+            if (localSemaphore != null) {
+                localSemaphore.release();
+            }
+        }
+    }
+
+    /**
+     * 解析并发限制键
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @return 完整并发限制键
+     */
+    private String resolveFullKey(ProceedingJoinPoint joinPoint, Method method, ConcurrencyLimit annotation) {
+        String key = AspectUtil.resolveSpelExpression(joinPoint, annotation.key());
+
+        // 如果未指定prefix或使用默认值，则添加方法路径
+        String prefix = annotation.prefix();
+        if (prefix.equals(RedissonToolkitConstant.DEFAULT_CONCURRENCY_LIMIT_PREFIX)) {
+            prefix = AspectUtil.buildPrefixWithMethodPath(prefix, method);
+        }
+        return prefix + key;
+    }
+
+    /**
+     * 归还许可，失败时由许可租期兜底，不影响方法结果
+     */
+    private void release(BackendSemaphore semaphore, String permitId, String fullKey) {
+        try {
+            semaphore.release(permitId);
+        } catch (Exception e) {
+            logger.warn("归还许可失败，等待租期到期自动归还: {}", fullKey, e);
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package com.imu.toolkit.redisson.aspect;
 
+import com.imu.toolkit.redisson.annotation.DegradeStrategy;
 import com.imu.toolkit.redisson.annotation.DistributedLock;
+import com.imu.toolkit.redisson.backend.BackendLock;
+import com.imu.toolkit.redisson.backend.BackendUnavailableException;
 import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
 import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.AsyncWaitUtil;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.RequestMemo;
 import com.imu.toolkit.redisson.utils.TimeUtil;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.lang.reflect.Method;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 分布式锁切面实现
@@ -24,7 +28,10 @@ import java.util.concurrent.TimeUnit;
 public class DistributedLockAspect {
 
     @Autowired
-    private RedissonClient redissonClient;
+    private RCache rCache;
+
+    @Autowired
+    private ParameterOverrides overrides;
 
     
 
@@ -46,28 +53,43 @@ public class DistributedLockAspect {
             // 使用工具类构建带方法路径的前缀
             prefix = AspectUtil.buildPrefixWithMethodPath(prefix, method);
         }
-        String fullLockName = prefix + key;
+        String fullLockName = AspectUtil.buildKey(prefix, key, annotation.hashTag());
+
+        // 当前请求作用域已持有该锁且租期未到期时直接执行，不再访问Redis
+        if (RequestMemo.isLockHeld(fullLockName)) {
+            return joinPoint.proceed();
+        }
 
         // 获取锁
-        RLock lock = redissonClient.getLock(fullLockName);
+        BackendLock lock = rCache.getBackendLock(fullLockName);
 
         // 解析过期时间和等待时间
-        long expireTime = TimeUtil.parseTimeToMillis(annotation.expire());
-        long waitTime = TimeUtil.parseTimeToMillis(annotation.waitTime());
+        long expireTime = TimeUtil.parseTimeToMillis(overrides.get(method, annotation, annotation.prefix(), "expire", annotation.expire()));
+        long waitTime = TimeUtil.parseTimeToMillis(overrides.get(method, annotation, annotation.prefix(), "waitTime", annotation.waitTime()));
+
+        long leaseTime = expireTime != -1 ? expireTime : Long.MAX_VALUE;
+        long actualWaitTime = waitTime == -1 ? 0 : waitTime;
+
+        // 异步等待模式下使用线程固定的显式持有者ID，否则以当前线程为持有者，两者均可重入
+        long ownerId = AsyncWaitUtil.ownerId(AsyncWaitUtil.shouldUseAsyncWait(annotation.asyncWait()));
 
         boolean locked = false;
+        long requestedAtNanos = System.nanoTime();
         try {
-            // 尝试获取锁
-            if (waitTime == -1) {
-                // 不等待，立即尝试获取锁
-                locked = lock.tryLock(0, expireTime != -1 ? expireTime : Long.MAX_VALUE, TimeUnit.MILLISECONDS);
-            } else {
-                // 等待指定时间
-                locked = lock.tryLock(waitTime, expireTime != -1 ? expireTime : Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            // 尝试获取锁，waitTime为-1时不等待，立即尝试获取锁
+            try {
+                locked = lock.tryLock(actualWaitTime, leaseTime, ownerId);
+            } catch (BackendUnavailableException e) {
+                if (annotation.degrade() == DegradeStrategy.FAIL_OPEN) {
+                    // 存储后端不可用，按降级策略不加锁执行
+                    return joinPoint.proceed();
+                }
+                throw new RuntimeException("获取分布式锁失败，请稍后重试", e);
             }
 
             if (locked) {
                 // 获取锁成功，执行方法
+                RequestMemo.onLockAcquired(fullLockName, leaseTime, requestedAtNanos);
                 return joinPoint.proceed();
             } else {
                 // 获取锁失败，默认抛出异常
@@ -75,8 +97,9 @@ public class DistributedLockAspect {
             }
         } finally {
             // 释放锁
-            if (locked && lock.isHeldByCurrentThread()) {
-                lock.unlock();
+            if (locked) {
+                RequestMemo.onLockReleased(fullLockName);
+                lock.unlock(ownerId);
             }
         }
     }
@@ -0,0 +1,315 @@
+package com.imu.toolkit.redisson.aspect;
+
+import com.imu.toolkit.redisson.annotation.AddCache;
+import com.imu.toolkit.redisson.annotation.DegradeStrategy;
+import com.imu.toolkit.redisson.annotation.IntervalLock;
+import com.imu.toolkit.redisson.annotation.RateLimit;
+import com.imu.toolkit.redisson.backend.BackendUnavailableException;
+import com.imu.toolkit.redisson.backend.CircuitBreaker;
+import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.utils.AdaptiveLimit;
+import com.imu.toolkit.redisson.utils.KeySlotUtil;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.handler.State;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 融合检查切面实现
+ * 将@RateLimit、@IntervalLock、@AddCache的调用前检查合并为一次Lua脚本执行：
+ * 限流检查、防重复提交标记、缓存读取，一次网络往返完成
+ */
+@Aspect
+@Component
+public class FusedGuardAspect {
+
+    /**
+     * 脚本返回状态：通过
+     */
+    private static final long STATUS_PASSED = 0;
+
+    /**
+     * 脚本返回状态：被限流
+     */
+    private static final long STATUS_RATE_LIMITED = 1;
+
+    /**
+     * 脚本返回状态：重复提交
+     */
+    private static final long STATUS_DUPLICATE = 2;
+
+    /**
+     * 融合检查脚本
+     * KEYS按限流键、防重复提交键、缓存键的顺序传入，未启用的检查不传对应的键
+     * ARGV: 1.是否限流 2.限流数量 3.时间窗口(ms) 4.本次请求成员ID 5.是否防重复 6.防重复过期时间(ms) 7.是否读取缓存
+     * 限流只在所有检查都通过后才记入窗口，被防重复提交拒绝的请求不占用限流配额；
+     * 被限流时返回窗口内最早一次请求过期前的剩余毫秒数，供等待重试使用
+     */
+    private static final String FUSED_SCRIPT = """
+            local keyIndex = 1
+            local rateKey
+            local now
+            local window
+            if ARGV[1] == '1' then
+                rateKey = KEYS[keyIndex]
+                keyIndex = keyIndex + 1
+                local time = redis.call('TIME')
+                now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+                window = tonumber(ARGV[3])
+                redis.call('ZREMRANGEBYSCORE', rateKey, '-inf', now - window)
+                if redis.call('ZCARD', rateKey) >= tonumber(ARGV[2]) then
+                    local oldest = redis.call('ZRANGE', rateKey, 0, 0, 'WITHSCORES')
+                    local retryAfter = window
+                    if oldest[2] then
+                        retryAfter = tonumber(oldest[2]) + window - now
+                    end
+                    return {1, retryAfter}
+                end
+            end
+            if ARGV[5] == '1' then
+                local intervalKey = KEYS[keyIndex]
+                keyIndex = keyIndex + 1
+                local marked
+                if tonumber(ARGV[6]) > 0 then
+                    marked = redis.call('SET', intervalKey, '1', 'PX', ARGV[6], 'NX')
+                else
+                    marked = redis.call('SET', intervalKey, '1', 'NX')
+                end
+                if not marked then
+                    return {2}
+                end
+            end
+            if rateKey then
+                redis.call('ZADD', rateKey, now, ARGV[4])
+                redis.call('PEXPIRE', rateKey, window)
+            end
+            if ARGV[7] == '1' then
+                return {0, redis.call('GET', KEYS[keyIndex])}
+            end
+            return {0}
+            """;
+
+    @Autowired
+    private RCache rCache;
+
+    @Autowired
+    private RateLimitAspect rateLimitAspect;
+
+    @Autowired
+    private IntervalLockAspect intervalLockAspect;
+
+    @Autowired
+    private AddCacheAspect addCacheAspect;
+
+    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.FusedGuard)")
+    public void fusedGuardPointCut() {}
+
+    @Around("fusedGuardPointCut()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+        IntervalLock intervalLock = method.getAnnotation(IntervalLock.class);
+        AddCache addCache = method.getAnnotation(AddCache.class);
+
+        // 组装脚本键和参数
+        List<Object> keys = new ArrayList<>();
+        String[] args = {"0", "0", "0", "", "0", "0", "0"};
+        if (rateLimit != null) {
+            keys.add(rateLimitAspect.resolveFullKey(joinPoint, method, rateLimit));
+            fillRateArgs(method, rateLimit, args);
+        }
+        if (intervalLock != null) {
+            keys.add(intervalLockAspect.resolveFullKey(joinPoint, method, intervalLock));
+            args[4] = "1";
+            args[5] = String.valueOf(TimeUtil.parseTimeToMillis(intervalLockAspect.resolveExpire(method, intervalLock)));
+        }
+        String cacheKey = addCache != null ? addCacheAspect.resolveStandaloneCacheKey(joinPoint, method, addCache) : null;
+        if (cacheKey != null) {
+            keys.add(cacheKey);
+            args[6] = "1";
+        }
+
+        // 非Redisson后端无法执行脚本；集群模式下键分布在多个槽位时无法在一个脚本中执行；
+        // 熔断器未关闭时由逐个检查按各注解的降级策略处理。
+        // 这些情况逐个检查，后端限流器与融合脚本使用同一个滑动窗口键和算法，共享配额
+        RedissonClient redissonClient = rCache.getRedissonClient();
+        if (redissonClient == null) {
+            return sequentialAround(joinPoint, method, rateLimit, intervalLock, addCache);
+        }
+        CircuitBreaker circuitBreaker = rCache.getCircuitBreaker();
+        if (keys.isEmpty() || !isSameSlot(redissonClient, keys)
+                || (circuitBreaker != null && circuitBreaker.getState() != CircuitBreaker.State.CLOSED)) {
+            return sequentialAround(joinPoint, method, rateLimit, intervalLock, addCache);
+        }
+
+        List<Object> result;
+        try {
+            result = evalWithWait(redissonClient, keys, args, method, rateLimit);
+        } catch (BackendUnavailableException e) {
+            return degradedAround(joinPoint, method, rateLimit, intervalLock, addCache, e);
+        }
+
+        long status = (Long) result.get(0);
+        if (status == STATUS_RATE_LIMITED) {
+            AdaptiveLimit adaptiveLimit = rateLimitAspect.getAdaptiveLimit(method, rateLimit);
+            if (adaptiveLimit != null) {
+                adaptiveLimit.onRejected();
+            }
+            throw new RuntimeException(rateLimit.errorMsg());
+        }
+        if (status == STATUS_DUPLICATE) {
+            throw new RuntimeException(intervalLock.errorMsg());
+        }
+        if (status != STATUS_PASSED) {
+            throw new IllegalStateException("unexpected fused guard status: " + status);
+        }
+
+        Object cacheValue = null;
+        if (cacheKey != null) {
+            // 预读到分片清单时按清单还原，分片不完整时按未命中处理
+            cacheValue = result.size() > 1 ? decode(redissonClient, (byte[]) result.get(1)) : null;
+            cacheValue = rCache.resolveChunked(cacheKey, cacheValue);
+        }
+        // 区域模式由缓存流程自行读取
+        return invoke(joinPoint, method, rateLimit, addCache, cacheKey != null, cacheValue);
+    }
+
+    /**
+     * 融合脚本执行时存储后端不可用
+     * 脚本可能已在服务端执行，不再重复检查：限流和防重复提交直接按各注解的降级策略放行或拒绝，缓存由缓存流程自行降级
+     */
+    private Object degradedAround(ProceedingJoinPoint joinPoint, Method method, RateLimit rateLimit,
+                                  IntervalLock intervalLock, AddCache addCache, BackendUnavailableException cause) throws Throwable {
+        if (rateLimit != null && rateLimit.degrade() == DegradeStrategy.FAIL_CLOSED) {
+            throw new RuntimeException(rateLimit.errorMsg(), cause);
+        }
+        if (intervalLock != null && intervalLock.degrade() == DegradeStrategy.FAIL_CLOSED) {
+            throw new RuntimeException(intervalLock.errorMsg(), cause);
+        }
+        return invoke(joinPoint, method, rateLimit, addCache, false, null);
+    }
+
+    /**
+     * 检查通过后执行缓存流程或原方法，开启自适应限流时记录延迟和失败
+     */
+    private Object invoke(ProceedingJoinPoint joinPoint, Method method, RateLimit rateLimit, AddCache addCache,
+                          boolean prefetched, Object cacheValue) throws Throwable {
+        AdaptiveLimit adaptiveLimit = rateLimit != null ? rateLimitAspect.getAdaptiveLimit(method, rateLimit) : null;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object value = addCache != null
+                    ? addCacheAspect.cacheAround(joinPoint, method, addCache, prefetched, cacheValue)
+                    : joinPoint.proceed();
+            failed = false;
+            return value;
+        } finally {
+            if (adaptiveLimit != null) {
+                adaptiveLimit.record(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * 逐个执行各注解的检查
+     * 同时限流和防重复提交时先确认未重复提交再获取限流配额，避免重复提交消耗配额
+     */
+    private Object sequentialAround(ProceedingJoinPoint joinPoint, Method method, RateLimit rateLimit,
+                                    IntervalLock intervalLock, AddCache addCache) throws Throwable {
+        if (rateLimit != null && intervalLock != null && intervalLockAspect.isMarked(joinPoint, method, intervalLock)) {
+            throw new RuntimeException(intervalLock.errorMsg());
+        }
+        if (rateLimit != null) {
+            rateLimitAspect.checkRateLimit(joinPoint, method, rateLimit);
+        }
+        if (intervalLock != null) {
+            intervalLockAspect.checkInterval(joinPoint, method, intervalLock);
+        }
+        return invoke(joinPoint, method, rateLimit, addCache, false, null);
+    }
+
+    /**
+     * 填充限流相关的脚本参数
+     */
+    private void fillRateArgs(Method method, RateLimit rateLimit, String[] args) {
+        args[0] = "1";
+        args[1] = String.valueOf(rateLimitAspect.resolveLimit(method, rateLimit));
+        args[2] = String.valueOf(rateLimitAspect.resolveTimeWindow(method, rateLimit));
+        args[3] = UUID.randomUUID().toString();
+    }
+
+    /**
+     * 执行融合检查脚本，受熔断器和延迟预算保护
+     * 被限流且窗口内配额在waitTime内会释放时，等到释放后重新执行；
+     * 被限流时脚本不写入任何标记，重新执行是安全的
+     */
+    private List<Object> evalWithWait(RedissonClient redissonClient, List<Object> keys, String[] args,
+                                      Method method, RateLimit rateLimit) throws InterruptedException {
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+        long waitTimeMillis = rateLimit != null ? rateLimitAspect.resolveWaitTime(method, rateLimit) : -1;
+        long deadline = System.currentTimeMillis() + Math.max(waitTimeMillis, 0);
+        while (true) {
+            List<Object> result = rCache.guarded(() -> redissonClient.getScript(ByteArrayCodec.INSTANCE)
+                    .eval(RScript.Mode.READ_WRITE, FUSED_SCRIPT, RScript.ReturnType.MULTI, keys, values));
+            if ((Long) result.get(0) != STATUS_RATE_LIMITED || waitTimeMillis <= 0) {
+                return result;
+            }
+            long retryAfter = Math.max(result.size() > 1 ? (Long) result.get(1) : 0, 1);
+            if (System.currentTimeMillis() + retryAfter > deadline) {
+                return result;
+            }
+            Thread.sleep(retryAfter);
+        }
+    }
+
+    private boolean isSameSlot(RedissonClient redissonClient, List<Object> keys) {
+        if (!redissonClient.getConfig().isClusterConfig()) {
+            return true;
+        }
+        int slot = KeySlotUtil.calcSlot((String) keys.get(0));
+        for (Object key : keys) {
+            if (KeySlotUtil.calcSlot((String) key) != slot) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 使用客户端编解码器解码缓存值，空值标记转换为null
+     */
+    private Object decode(RedissonClient redissonClient, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        try {
+            Object value = redissonClient.getConfig().getCodec().getValueDecoder().decode(buf, new State());
+            return RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value) ? null : value;
+        } finally {
+            buf.release();
+        }
+    }
+}
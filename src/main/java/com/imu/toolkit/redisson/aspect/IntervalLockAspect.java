@@ -1,16 +1,17 @@
 package com.imu.toolkit.redisson.aspect;
 
+import com.imu.toolkit.redisson.annotation.DegradeStrategy;
 import com.imu.toolkit.redisson.annotation.IntervalLock;
+import com.imu.toolkit.redisson.backend.BackendUnavailableException;
 import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
 import com.imu.toolkit.redisson.utils.AspectUtil;
-import com.imu.toolkit.redisson.utils.TimeUtil;
+import com.imu.toolkit.redisson.utils.RCache;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.redisson.api.RBucket;
-import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -21,7 +22,6 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 防重复提交切面实现
@@ -31,11 +31,14 @@ import java.util.concurrent.TimeUnit;
 public class IntervalLockAspect {
 
     @Autowired
-    private RedissonClient redissonClient;
+    private RCache rCache;
+
+    @Autowired
+    private ParameterOverrides overrides;
 
 
 
-    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.IntervalLock)")
+    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.IntervalLock) && !@annotation(com.imu.toolkit.redisson.annotation.FusedGuard)")
     public void preventDuplicateSubmitPointCut() {}
 
     @Around("preventDuplicateSubmitPointCut()")
@@ -44,14 +47,26 @@ public class IntervalLockAspect {
         Method method = signature.getMethod();
         IntervalLock annotation = method.getAnnotation(IntervalLock.class);
 
+        checkInterval(joinPoint, method, annotation);
+
+        try {
+            // 执行方法
+            return joinPoint.proceed();
+        } finally {
+            // 注意：这里不主动删除，让它自然过期，避免业务逻辑执行失败时的重复提交问题
+        }
+    }
+
+    /**
+     * 解析防重复提交键
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @return 完整键
+     */
+    public String resolveFullKey(ProceedingJoinPoint joinPoint, Method method, IntervalLock annotation) {
         // 解析key
         String key = AspectUtil.resolveSpelExpression(joinPoint, annotation.key());
-        
-        // 如果需要包含参数签名
-        if (annotation.includeParams()) {
-            String paramsSignature = generateParamsSignature(joinPoint, annotation);
-            key = key + ":" + paramsSignature;
-        }
 
         // 如果未指定prefix或使用默认值，则添加方法路径
         String prefix = annotation.prefix();
@@ -59,25 +74,66 @@ public class IntervalLockAspect {
             // 使用工具类构建带方法路径的前缀
             prefix = AspectUtil.buildPrefixWithMethodPath(prefix, method);
         }
-        String fullKey = prefix + key;
+        // hash tag只包含key，参数签名不影响槽位
+        String fullKey = AspectUtil.buildKey(prefix, key, annotation.hashTag());
+
+        // 如果需要包含参数签名
+        if (annotation.includeParams()) {
+            String paramsSignature = generateParamsSignature(joinPoint, annotation);
+            fullKey = fullKey + ":" + paramsSignature;
+        }
+        return fullKey;
+    }
 
-        // 解析过期时间
-        long expireTime = TimeUtil.parseTimeToMillis(annotation.expire());
+    /**
+     * 解析当前生效的防重复提交间隔，支持运行时参数覆盖
+     * @param method 方法
+     * @param annotation 注解
+     * @return 间隔时间字符串
+     */
+    public String resolveExpire(Method method, IntervalLock annotation) {
+        return overrides.get(method, annotation, annotation.prefix(), "expire", annotation.expire());
+    }
 
-        // 检查是否已经提交过
-        RBucket<String> bucket = redissonClient.getBucket(fullKey);
-        if (bucket.isExists()) {
-            throw new RuntimeException(annotation.errorMsg());
+    /**
+     * 检查是否已存在提交标记，不设置标记
+     * 存储后端不可用时返回false，由 {@link #checkInterval} 按降级策略处理
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @return 是否已提交过
+     */
+    public boolean isMarked(ProceedingJoinPoint joinPoint, Method method, IntervalLock annotation) {
+        try {
+            return rCache.exists(resolveFullKey(joinPoint, method, annotation));
+        } catch (BackendUnavailableException e) {
+            return false;
         }
+    }
 
-        // 设置提交标记
-        bucket.set("1", expireTime, TimeUnit.MILLISECONDS);
+    /**
+     * 防重复提交检查，重复操作时抛出异常，否则设置提交标记
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     */
+    public void checkInterval(ProceedingJoinPoint joinPoint, Method method, IntervalLock annotation) {
+        String fullKey = resolveFullKey(joinPoint, method, annotation);
 
+        boolean duplicate;
         try {
-            // 执行方法
-            return joinPoint.proceed();
-        } finally {
-            // 注意：这里不主动删除，让它自然过期，避免业务逻辑执行失败时的重复提交问题
+            // 检查是否已经提交过
+            duplicate = rCache.exists(fullKey);
+            if (!duplicate) {
+                // 设置提交标记
+                rCache.set(fullKey, "1", resolveExpire(method, annotation));
+            }
+        } catch (BackendUnavailableException e) {
+            // 存储后端不可用，按降级策略放行或拒绝
+            duplicate = annotation.degrade() == DegradeStrategy.FAIL_CLOSED;
+        }
+        if (duplicate) {
+            throw new RuntimeException(annotation.errorMsg());
         }
     }
 
@@ -0,0 +1,164 @@
+package com.imu.toolkit.redisson.aspect;
+
+import com.imu.toolkit.redisson.annotation.PutCache;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
+import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.CacheEnvelope;
+import com.imu.toolkit.redisson.utils.KeySlotUtil;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.RequestMemo;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import com.imu.toolkit.redisson.utils.ValueTooLargeException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写穿缓存切面实现
+ * 方法执行成功后用返回值刷新缓存，保持热点数据在更新期间持续可用
+ */
+@Aspect
+@Component
+public class PutCacheAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(PutCacheAspect.class);
+
+    @Autowired
+    private RCache rCache;
+
+    @Autowired
+    private ParameterOverrides overrides;
+
+    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.PutCache)")
+    public void putCachePointCut() {}
+
+    @Around("putCachePointCut()")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        PutCache annotation = method.getAnnotation(PutCache.class);
+
+        // 执行原方法，失败时不更新缓存
+        long startNanos = System.nanoTime();
+        Object result = joinPoint.proceed();
+        long computeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        putCache(joinPoint, method, annotation, result, computeMs);
+
+        return result;
+    }
+
+    /**
+     * 写入缓存
+     * 缓存值为null时删除对应的键，避免保留过期数据
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @param result 方法返回值
+     * @param computeMs 方法执行耗时（毫秒），开启提前刷新时作为重建成本写入
+     */
+    private void putCache(ProceedingJoinPoint joinPoint, Method method, PutCache annotation, Object result, long computeMs) {
+        try {
+            String baseExpire = overrides.get(method, annotation, annotation.prefix(), "expire", annotation.expire());
+            String expireRange = overrides.get(method, annotation, annotation.prefix(), "expireRange", annotation.expireRange());
+            Object value = annotation.value().isEmpty()
+                    ? result
+                    : AspectUtil.evaluateExpression(joinPoint, annotation.value(), result);
+            String regionName = AspectUtil.buildRegionName(annotation.prefix(), annotation.region(), annotation.hashTag());
+
+            // 解析所有缓存键，区域模式下为字段名
+            List<String> cacheKeys = new ArrayList<>();
+            for (String key : annotation.key()) {
+                String keyBody = AspectUtil.resolveSpelExpression(joinPoint, key, result);
+                if (regionName != null) {
+                    cacheKeys.add(keyBody);
+                } else {
+                    cacheKeys.add(AspectUtil.buildKey(annotation.prefix(), keyBody, annotation.hashTag()));
+                }
+            }
+            // 作用域内后续读取以缓存中的新值为准
+            cacheKeys.forEach(cacheKey -> RequestMemo.invalidate(regionName == null ? cacheKey : regionName + ":" + cacheKey));
+
+            if (value == null) {
+                evict(annotation, regionName, cacheKeys);
+                logger.debug("写穿缓存值为空，已删除缓存: {}", cacheKeys);
+                return;
+            }
+
+            try {
+                writeCache(annotation, regionName, cacheKeys, value, computeMs, baseExpire, expireRange);
+            } catch (ValueTooLargeException e) {
+                // 新值不写入时删除旧值，避免后续读取到过期数据
+                evict(annotation, regionName, cacheKeys);
+                logger.warn("写穿缓存值超过大小上限，已删除缓存: {}", e.getMessage());
+                return;
+            }
+            logger.debug("成功写穿缓存: {}", cacheKeys);
+        } catch (Exception e) {
+            logger.error("写穿缓存失败: {}", e.getMessage(), e);
+            // 忽略异常，不影响原方法执行
+        }
+    }
+
+    /**
+     * 按注解的副本数或缓存区域写入所有缓存键，每次写入都按注解的大小阈值检查
+     * 多个键的值相同，批量写入中有键超过上限时所有键都超过上限，由批量写入删除旧值
+     */
+    private void writeCache(PutCache annotation, String regionName, List<String> cacheKeys, Object value,
+                            long computeMs, String baseExpire, String expireRange) {
+        if (regionName == null && annotation.replicas() > 1) {
+            // 每个键的所有副本使用相同的过期时间
+            for (String cacheKey : cacheKeys) {
+                String expire = TimeUtil.addRandomJitter(baseExpire, expireRange);
+                rCache.setReplicated(cacheKey, CacheEnvelope.wrap(value, annotation.earlyRefreshBeta(), computeMs, expire),
+                        expire, annotation.replicas(), annotation.warnSize(), annotation.maxSize());
+            }
+        } else if (cacheKeys.size() == 1) {
+            String expire = TimeUtil.addRandomJitter(baseExpire, expireRange);
+            Object storeValue = CacheEnvelope.wrap(value, annotation.earlyRefreshBeta(), computeMs, expire);
+            if (regionName != null) {
+                rCache.regionPut(regionName, cacheKeys.get(0), storeValue, expire, annotation.warnSize(), annotation.maxSize());
+            } else {
+                rCache.set(cacheKeys.get(0), storeValue, expire, annotation.warnSize(), annotation.maxSize());
+            }
+        } else {
+            // 多个键在一个管道批次中写入，过期时刻按未抖动的过期时间计算，只会略早于实际过期
+            Object storeValue = CacheEnvelope.wrap(value, annotation.earlyRefreshBeta(), computeMs, baseExpire);
+            Map<String, Object> values = new LinkedHashMap<>();
+            cacheKeys.forEach(cacheKey -> values.put(cacheKey, storeValue));
+            Set<String> rejected = regionName != null
+                    ? rCache.regionPutAll(regionName, values, baseExpire, expireRange, annotation.warnSize(), annotation.maxSize())
+                    : rCache.setAll(values, baseExpire, expireRange, annotation.warnSize(), annotation.maxSize());
+            if (!rejected.isEmpty()) {
+                logger.warn("写穿缓存值超过大小上限，已删除缓存: {}", rejected);
+            }
+        }
+    }
+
+    /**
+     * 删除所有缓存键及其副本
+     */
+    private void evict(PutCache annotation, String regionName, List<String> cacheKeys) {
+        if (regionName != null) {
+            rCache.regionRemove(regionName, cacheKeys.toArray(new String[0]));
+        } else {
+            List<String> replicaKeys = new ArrayList<>();
+            cacheKeys.forEach(cacheKey -> replicaKeys.addAll(KeySlotUtil.replicaKeys(cacheKey, annotation.replicas())));
+            rCache.delete(replicaKeys);
+        }
+    }
+}
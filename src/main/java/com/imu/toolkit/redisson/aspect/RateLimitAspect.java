@@ -1,38 +1,65 @@
 package com.imu.toolkit.redisson.aspect;
 
+import com.imu.toolkit.redisson.annotation.DegradeStrategy;
 import com.imu.toolkit.redisson.annotation.RateLimit;
+import com.imu.toolkit.redisson.backend.BackendRateLimiter;
+import com.imu.toolkit.redisson.backend.BackendUnavailableException;
 import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
+import com.imu.toolkit.redisson.utils.AdaptiveLimit;
 import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.AsyncWaitUtil;
+import com.imu.toolkit.redisson.utils.RCache;
 import com.imu.toolkit.redisson.utils.TimeUtil;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.redisson.api.RRateLimiter;
-import org.redisson.api.RateIntervalUnit;
-import org.redisson.api.RateType;
-import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 限流切面实现
- * 基于Redisson原生的RRateLimiter实现滑动窗口限流
+ * 基于存储后端的限流器实现，默认使用Redis上的滑动窗口脚本
+ * 开启自适应限流时阈值由 {@link AdaptiveLimit} 根据方法的延迟和异常率动态调整
  */
 @Aspect
 @Component
 public class RateLimitAspect {
 
+    /**
+     * 自适应限流共享状态键后缀
+     */
+    private static final String ADAPTIVE_STATE_SUFFIX = "adaptive:state";
+
+    /**
+     * 限流键后缀，与旧版本RRateLimiter使用的哈希键区分；@FusedGuard的融合脚本使用同一个键
+     */
+    public static final String SLIDING_WINDOW_SUFFIX = ":sliding";
+
+    /**
+     * 自适应限流的最短评估周期（毫秒）
+     */
+    private static final long MIN_ADAPTIVE_INTERVAL_MS = 1000;
+
+    @Autowired
+    private RCache rCache;
+
     @Autowired
-    private RedissonClient redissonClient;
+    private ParameterOverrides overrides;
 
-    
+    /**
+     * 每个方法的自适应限流阈值
+     */
+    private final Map<Method, AdaptiveLimit> adaptiveLimits = new ConcurrentHashMap<>();
 
-    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.RateLimit)")
+    @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.RateLimit) && !@annotation(com.imu.toolkit.redisson.annotation.FusedGuard)")
     public void rateLimitPointCut() {}
 
     @Around("rateLimitPointCut()")
@@ -41,49 +68,143 @@ public class RateLimitAspect {
         Method method = signature.getMethod();
         RateLimit annotation = method.getAnnotation(RateLimit.class);
 
+        checkRateLimit(joinPoint, method, annotation);
+
+        // 执行方法
+        AdaptiveLimit adaptiveLimit = getAdaptiveLimit(method, annotation);
+        if (adaptiveLimit == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            adaptiveLimit.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * 获取方法的自适应限流阈值，未开启自适应限流时返回null
+     * @param method 方法
+     * @param annotation 注解
+     * @return 自适应限流阈值
+     */
+    public AdaptiveLimit getAdaptiveLimit(Method method, RateLimit annotation) {
+        if (annotation.adaptiveMinLimit() <= 0 || annotation.adaptiveMaxLimit() <= 0) {
+            return null;
+        }
+        return adaptiveLimits.computeIfAbsent(method, m -> {
+            String prefix = annotation.prefix();
+            if (prefix.equals(RedissonToolkitConstant.DEFAULT_RATE_LIMIT_PREFIX)) {
+                prefix = AspectUtil.buildPrefixWithMethodPath(prefix, method);
+            }
+            long windowMs = TimeUtil.parseTimeToMillis(annotation.timeWindow());
+            return new AdaptiveLimit(prefix + ADAPTIVE_STATE_SUFFIX, annotation.limit(), annotation.adaptiveMinLimit(),
+                    annotation.adaptiveMaxLimit(), TimeUtil.parseTimeToMillis(annotation.adaptiveLatencyThreshold()),
+                    annotation.adaptiveMaxErrorRate(), Math.max(windowMs, MIN_ADAPTIVE_INTERVAL_MS));
+        });
+    }
+
+    /**
+     * 获取所有已开启自适应限流的方法的当前阈值，用于监控
+     * @return 共享状态键与当前阈值
+     */
+    public Map<String, Integer> getAdaptiveLimits() {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        adaptiveLimits.values().forEach(adaptiveLimit -> limits.put(adaptiveLimit.getStateKey(), adaptiveLimit.getCurrentLimit()));
+        return limits;
+    }
+
+    /**
+     * 解析当前生效的限流阈值，开启自适应限流时为自适应阈值，否则支持运行时参数覆盖
+     * @param method 方法
+     * @param annotation 注解
+     * @return 限流阈值
+     */
+    public int resolveLimit(Method method, RateLimit annotation) {
+        AdaptiveLimit adaptiveLimit = getAdaptiveLimit(method, annotation);
+        return adaptiveLimit != null
+                ? adaptiveLimit.currentLimit(rCache)
+                : overrides.getInt(method, annotation, annotation.prefix(), "limit", annotation.limit());
+    }
+
+    /**
+     * 解析当前生效的时间窗口，支持运行时参数覆盖
+     * @param method 方法
+     * @param annotation 注解
+     * @return 时间窗口（毫秒）
+     */
+    public long resolveTimeWindow(Method method, RateLimit annotation) {
+        return TimeUtil.parseTimeToMillis(overrides.get(method, annotation, annotation.prefix(), "timeWindow", annotation.timeWindow()));
+    }
+
+    /**
+     * 解析当前生效的等待时间，支持运行时参数覆盖
+     * @param method 方法
+     * @param annotation 注解
+     * @return 等待时间（毫秒），-1表示不等待
+     */
+    public long resolveWaitTime(Method method, RateLimit annotation) {
+        return TimeUtil.parseTimeToMillis(overrides.get(method, annotation, annotation.prefix(), "waitTime", annotation.waitTime()));
+    }
+
+    /**
+     * 解析限流键，包含滑动窗口后缀
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     * @return 完整限流键
+     */
+    public String resolveFullKey(ProceedingJoinPoint joinPoint, Method method, RateLimit annotation) {
         // 解析key
         String key = AspectUtil.resolveSpelExpression(joinPoint, annotation.key());
-        
+
         // 如果未指定prefix或使用默认值，则添加方法路径
         String prefix = annotation.prefix();
         if (prefix.equals(RedissonToolkitConstant.DEFAULT_RATE_LIMIT_PREFIX)) {
             // 使用工具类构建带方法路径的前缀
             prefix = AspectUtil.buildPrefixWithMethodPath(prefix, method);
         }
-        String fullKey = prefix + key;
+        return AspectUtil.buildKey(prefix, key, annotation.hashTag()) + SLIDING_WINDOW_SUFFIX;
+    }
 
-        // 获取限流配置
-        int limit = annotation.limit();
+    /**
+     * 限流检查，获取令牌失败时抛出异常
+     * @param joinPoint 连接点
+     * @param method 方法
+     * @param annotation 注解
+     */
+    public void checkRateLimit(ProceedingJoinPoint joinPoint, Method method, RateLimit annotation) throws InterruptedException {
+        String fullKey = resolveFullKey(joinPoint, method, annotation);
+
+        // 获取限流配置，自适应阈值和运行时覆盖的速率在同一个限流器上原地生效
+        AdaptiveLimit adaptiveLimit = getAdaptiveLimit(method, annotation);
+        int limit = resolveLimit(method, annotation);
         // 解析时间窗口
-        long timeWindowMillis = TimeUtil.parseTimeToMillis(annotation.timeWindow());
+        long timeWindowMillis = resolveTimeWindow(method, annotation);
         // 解析等待时间
-        long waitTimeMillis = TimeUtil.parseTimeToMillis(annotation.waitTime());
-
-        // 获取Redisson限流器
-        RRateLimiter rateLimiter = redissonClient.getRateLimiter(fullKey);
-        
-        // 配置限流器：设置为滑动窗口模式
-        // 注意：这里只在第一次获取时设置，后续获取会复用之前的配置
-        rateLimiter.trySetRate(RateType.OVERALL, limit, timeWindowMillis, RateIntervalUnit.MILLISECONDS);
+        long waitTimeMillis = resolveWaitTime(method, annotation);
 
-        // 尝试获取令牌
         boolean allowed;
-        if (waitTimeMillis == -1) {
-            // 不等待，直接拒绝
-            allowed = rateLimiter.tryAcquire();
-        } else if (waitTimeMillis > 0) {
-            // 等待指定时间
-            allowed = rateLimiter.tryAcquire(waitTimeMillis, TimeUnit.MILLISECONDS);
-        } else {
-            // 立即尝试获取，不等待
-            allowed = rateLimiter.tryAcquire();
+        try {
+            // 获取限流器
+            BackendRateLimiter rateLimiter = rCache.getRateLimiter(fullKey, limit, timeWindowMillis);
+
+            // 尝试获取令牌，waitTime为-1时不等待，直接拒绝
+            allowed = rateLimiter.tryAcquire(waitTimeMillis, AsyncWaitUtil.shouldUseAsyncWait(annotation.asyncWait()));
+            if (!allowed && adaptiveLimit != null) {
+                adaptiveLimit.onRejected();
+            }
+        } catch (BackendUnavailableException e) {
+            // 存储后端不可用，按降级策略放行或拒绝
+            allowed = annotation.degrade() == DegradeStrategy.FAIL_OPEN;
         }
 
         if (!allowed) {
             throw new RuntimeException(annotation.errorMsg());
         }
-
-        // 执行方法
-        return joinPoint.proceed();
     }
 }
\ No newline at end of file
@@ -2,8 +2,12 @@ package com.imu.toolkit.redisson.aspect;
 
 import com.imu.toolkit.redisson.annotation.RemoveCache;
 import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import com.imu.toolkit.redisson.invalidation.CacheInvalidator;
 import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.KeySlotUtil;
 import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.RequestMemo;
+import com.imu.toolkit.redisson.utils.TimeUtil;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -15,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 /**
  * 清除缓存切面实现
@@ -29,6 +34,9 @@ public class RemoveCacheAspect {
     @Autowired
     private RCache rCache;
 
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
     @Pointcut("@annotation(com.imu.toolkit.redisson.annotation.RemoveCache)")
     public void removeCachePointCut() {}
 
@@ -71,12 +79,39 @@ public class RemoveCacheAspect {
             // 确定缓存前缀，如果用户未提供则使用默认前缀
             String actualCachePrefix = prefix != null && !prefix.isEmpty() ? prefix : RedissonToolkitConstant.DEFAULT_CACHE_PREFIX;
             
+            // 区域模式下删除区域字段或清空整个区域
+            String regionName = AspectUtil.buildRegionName(actualCachePrefix, annotation.region(), annotation.hashTag());
+            if (regionName != null) {
+                if (annotation.clearRegion()) {
+                    rCache.regionClear(regionName);
+                    RequestMemo.invalidatePrefix(regionName + ":");
+                    logger.debug("成功清空缓存区域: {}", regionName);
+                } else {
+                    String field = AspectUtil.parseKeyOrUsePath(joinPoint, method, key, "");
+                    rCache.regionRemove(regionName, field);
+                    RequestMemo.invalidate(regionName + ":" + field);
+                    logger.debug("成功删除缓存区域字段: {} {}", regionName, field);
+                }
+                return;
+            }
+
             // 使用工具类解析缓存键
-            String cacheKey = AspectUtil.parseKeyOrUsePath(joinPoint, method, key, actualCachePrefix);
+            String cacheKey = AspectUtil.parseKeyOrUsePath(joinPoint, method, key, actualCachePrefix, annotation.hashTag());
             
-            // 删除缓存
-            rCache.delete(cacheKey);
+            long delayedDeleteMs = annotation.delayedDelete().isEmpty() ? 0 : TimeUtil.parseTimeToMillis(annotation.delayedDelete());
+            List<String> cacheKeys = KeySlotUtil.replicaKeys(cacheKey, annotation.replicas());
+            RequestMemo.invalidate(cacheKey);
+            if (annotation.async()) {
+                // 交给失效管道合并后批量删除
+                cacheKeys.forEach(replicaKey -> cacheInvalidator.invalidate(replicaKey, delayedDeleteMs));
+                logger.debug("缓存已加入失效队列: {}", cacheKey);
+                return;
+            }
+
+            // 删除缓存及其所有副本
+            rCache.delete(cacheKey, annotation.replicas());
             logger.debug("成功删除缓存: {}", cacheKey);
+            cacheKeys.forEach(replicaKey -> cacheInvalidator.invalidateLater(replicaKey, delayedDeleteMs));
         } catch (Exception e) {
             logger.error("删除缓存失败: {}", e.getMessage(), e);
             // 忽略异常，不影响原方法执行
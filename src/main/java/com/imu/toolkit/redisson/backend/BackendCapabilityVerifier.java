@@ -0,0 +1,74 @@
+package com.imu.toolkit.redisson.backend;
+
+import com.imu.toolkit.redisson.annotation.AddCache;
+import com.imu.toolkit.redisson.annotation.PutCache;
+import com.imu.toolkit.redisson.annotation.RemoveCache;
+import com.imu.toolkit.redisson.utils.AnnotatedMethodScanner;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 存储后端能力启动检查
+ * 缓存区域依赖Redis的MapCache，只有Redisson后端支持；使用其他后端时，所有单例初始化完成后扫描
+ * 使用缓存区域的@AddCache、@PutCache、@RemoveCache方法，存在时启动失败，避免请求时才抛出UnsupportedOperationException；
+ * 大值保护同样只有Redisson后端支持，设置了warnSize、maxSize的@AddCache、@PutCache方法在其他后端下启动失败，避免阈值被静默忽略
+ */
+@Component
+public class BackendCapabilityVerifier implements SmartInitializingSingleton, ApplicationContextAware {
+
+    @Autowired
+    private CacheBackend cacheBackend;
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (DelegatingCacheBackend.find(cacheBackend, RedissonCacheBackend.class) != null) {
+            return;
+        }
+        Set<Method> methods = AnnotatedMethodScanner.scan(applicationContext, BackendCapabilityVerifier::usesRegion);
+        if (!methods.isEmpty()) {
+            throw new IllegalStateException("cache regions require imu.redisson.backend=" + CacheBackendConfiguration.BACKEND_REDISSON
+                    + ", used by: " + methods.stream().map(Method::toString).collect(Collectors.joining(", ")));
+        }
+        methods = AnnotatedMethodScanner.scan(applicationContext, BackendCapabilityVerifier::usesSizeLimit);
+        if (!methods.isEmpty()) {
+            throw new IllegalStateException("warnSize/maxSize require imu.redisson.backend=" + CacheBackendConfiguration.BACKEND_REDISSON
+                    + ", used by: " + methods.stream().map(Method::toString).collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static boolean usesRegion(Method method) {
+        AddCache addCache = method.getAnnotation(AddCache.class);
+        if (addCache != null && !addCache.region().isEmpty()) {
+            return true;
+        }
+        PutCache putCache = method.getAnnotation(PutCache.class);
+        if (putCache != null && !putCache.region().isEmpty()) {
+            return true;
+        }
+        RemoveCache removeCache = method.getAnnotation(RemoveCache.class);
+        return removeCache != null && !removeCache.region().isEmpty();
+    }
+
+    private static boolean usesSizeLimit(Method method) {
+        AddCache addCache = method.getAnnotation(AddCache.class);
+        if (addCache != null && (!addCache.warnSize().isEmpty() || !addCache.maxSize().isEmpty())) {
+            return true;
+        }
+        PutCache putCache = method.getAnnotation(PutCache.class);
+        return putCache != null && (!putCache.warnSize().isEmpty() || !putCache.maxSize().isEmpty());
+    }
+}
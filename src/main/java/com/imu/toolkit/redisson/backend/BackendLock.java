@@ -0,0 +1,24 @@
+package com.imu.toolkit.redisson.backend;
+
+/**
+ * 存储后端的锁
+ * 锁的归属通过显式的持有者ID跟踪，同一持有者可重入
+ */
+public interface BackendLock {
+
+    /**
+     * 尝试获取锁
+     * @param waitMs 等待时间（毫秒），0表示不等待
+     * @param leaseMs 持有时间（毫秒），到期自动释放
+     * @param ownerId 持有者ID，同步调用时通常为当前线程ID
+     * @return 是否获取成功
+     */
+    boolean tryLock(long waitMs, long leaseMs, long ownerId) throws InterruptedException;
+
+    /**
+     * 释放锁
+     * 锁未被该持有者持有（如租期已到期）时忽略
+     * @param ownerId 持有者ID
+     */
+    void unlock(long ownerId);
+}
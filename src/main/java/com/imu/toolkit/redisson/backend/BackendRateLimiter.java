@@ -0,0 +1,16 @@
+package com.imu.toolkit.redisson.backend;
+
+/**
+ * 存储后端的限流器
+ * 在时间窗口内最多发放指定数量的令牌
+ */
+public interface BackendRateLimiter {
+
+    /**
+     * 尝试获取一个令牌
+     * @param waitMs 等待时间（毫秒），小于等于0时不等待
+     * @param asyncWait 是否使用异步等待模式，不阻塞虚拟线程的载体线程
+     * @return 是否获取成功
+     */
+    boolean tryAcquire(long waitMs, boolean asyncWait) throws InterruptedException;
+}
@@ -0,0 +1,24 @@
+package com.imu.toolkit.redisson.backend;
+
+/**
+ * 存储后端的信号量
+ * 每个许可带有租期，持有方崩溃后许可在租期到期时自动归还
+ */
+public interface BackendSemaphore {
+
+    /**
+     * 尝试获取一个许可
+     * @param waitMs 等待时间（毫秒），小于等于0时不等待
+     * @param leaseMs 许可租期（毫秒），到期自动归还
+     * @param asyncWait 是否使用异步等待模式，不阻塞虚拟线程的载体线程
+     * @return 许可ID，获取失败时返回null
+     */
+    String tryAcquire(long waitMs, long leaseMs, boolean asyncWait) throws InterruptedException;
+
+    /**
+     * 归还许可
+     * 许可已过期时忽略
+     * @param permitId 许可ID
+     */
+    void release(String permitId);
+}
@@ -0,0 +1,18 @@
+package com.imu.toolkit.redisson.backend;
+
+/**
+ * 存储后端不可用异常
+ * 熔断器打开或单次操作超过延迟预算时抛出，各切面据此执行注解声明的降级策略
+ */
+public class BackendUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BackendUnavailableException(String message) {
+        super(message);
+    }
+
+    public BackendUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,355 @@
+package com.imu.toolkit.redisson.backend;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 读合并存储后端装饰器
+ * 收集时间窗口内并发到达的单键读取，窗口结束或达到批次上限时合并为一次批量读取（Redisson后端为MGET），
+ * 再分别完成各调用方的结果；单次读取最多增加一个时间窗口的延迟
+ * <p>
+ * 同一批次内相同键的读取只发送一次：第一个调用方得到读取到的对象，其他调用方各自得到一份副本，
+ * 调用方之间不共享可变对象；未指定复制方式时共享同一个对象
+ * <p>
+ * 关闭后收集中和在途批次的读取均以 {@link BackendUnavailableException} 失败，之后的读取直接失败
+ */
+public class BatchingCacheBackend implements DelegatingCacheBackend, AutoCloseable {
+
+    private final CacheBackend delegate;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    /**
+     * 同一批次内重复读取同一个键时复制值，为null时共享同一个对象
+     */
+    private final UnaryOperator<Object> copier;
+
+    /**
+     * 窗口到期调度器
+     */
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("imu-read-batch", true));
+
+    /**
+     * 批量读取执行器，每个批次一个虚拟线程，多个批次可同时在途
+     */
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 当前收集中的批次
+     */
+    private Batch current;
+
+    /**
+     * 是否已关闭，由锁保护
+     */
+    private boolean closed;
+
+    /**
+     * 已发送但尚未完成的批次，关闭时统一失败
+     */
+    private final Set<Batch> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param delegate 实际存储后端
+     * @param windowMicros 合并时间窗口（微秒）
+     * @param maxBatchSize 单批次最大键数，达到后立即发送
+     * @param copier 同一批次内重复读取同一个键时复制值，为null时共享同一个对象
+     */
+    public BatchingCacheBackend(CacheBackend delegate, long windowMicros, int maxBatchSize, UnaryOperator<Object> copier) {
+        this.delegate = delegate;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(1, windowMicros));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.copier = copier;
+    }
+
+    @Override
+    public CacheBackend getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        Batch collecting;
+        lock.lock();
+        try {
+            closed = true;
+            collecting = current;
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        scheduler.shutdownNow();
+        dispatcher.shutdownNow();
+        BackendUnavailableException closedException = new BackendUnavailableException("read batching backend is closed");
+        if (collecting != null) {
+            collecting.fail(closedException);
+        }
+        inFlight.forEach(batch -> batch.fail(closedException));
+        DelegatingCacheBackend.closeDelegate(delegate);
+    }
+
+    // ==================== KV操作 ====================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V get(String key) {
+        CompletableFuture<Object> future;
+        Batch full = null;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new BackendUnavailableException("read batching backend is closed");
+            }
+            if (current == null) {
+                Batch batch = new Batch();
+                try {
+                    scheduler.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    throw new BackendUnavailableException("read batching backend is closed");
+                }
+                // 安排发送成功后才开始收集，避免留下永远不会发送的批次
+                current = batch;
+            }
+            future = new CompletableFuture<>();
+            current.futures.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            if (current.futures.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return (V) await(future);
+    }
+
+    @Override
+    public <V> Map<String, V> getAll(Collection<String> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public <V> V getFromReplicaNode(String key) {
+        return delegate.getFromReplicaNode(key);
+    }
+
+    @Override
+    public <V> void set(String key, V value, long ttlMs) {
+        delegate.set(key, value, ttlMs);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return delegate.delete(key);
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        return delegate.delete(keys);
+    }
+
+    @Override
+    public long unlink(Collection<String> keys) {
+        return delegate.unlink(keys);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return delegate.exists(key);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMs) {
+        return delegate.expire(key, ttlMs);
+    }
+
+    @Override
+    public long remainTimeToLive(String key) {
+        return delegate.remainTimeToLive(key);
+    }
+
+    // ==================== 哈希操作 ====================
+
+    @Override
+    public <V> V hget(String key, String field) {
+        return delegate.hget(key, field);
+    }
+
+    @Override
+    public <V> void hset(String key, String field, V value) {
+        delegate.hset(key, field, value);
+    }
+
+    @Override
+    public <V> void hsetAll(String key, Map<String, V> values) {
+        delegate.hsetAll(key, values);
+    }
+
+    @Override
+    public <V> Map<String, V> hgetAll(String key) {
+        return delegate.hgetAll(key);
+    }
+
+    @Override
+    public long hdel(String key, String... fields) {
+        return delegate.hdel(key, fields);
+    }
+
+    @Override
+    public boolean hexists(String key, String field) {
+        return delegate.hexists(key, field);
+    }
+
+    // ==================== 锁和限流 ====================
+
+    @Override
+    public BackendLock getLock(String name) {
+        return delegate.getLock(name);
+    }
+
+    @Override
+    public BackendRateLimiter getRateLimiter(String name, long limit, long windowMs) {
+        return delegate.getRateLimiter(name, limit, windowMs);
+    }
+
+    @Override
+    public BackendSemaphore getSemaphore(String name, int permits) {
+        return delegate.getSemaphore(name, permits);
+    }
+
+    // ==================== 发布订阅 ====================
+
+    @Override
+    public long publish(String topic, Object message) {
+        return delegate.publish(topic, message);
+    }
+
+    @Override
+    public int subscribe(String topic, Consumer<Object> listener) {
+        return delegate.subscribe(topic, listener);
+    }
+
+    @Override
+    public void unsubscribe(String topic, int listenerId) {
+        delegate.unsubscribe(topic, listenerId);
+    }
+
+    // ==================== 内部实现 ====================
+
+    /**
+     * 窗口到期，发送仍在收集中的批次；批次已因达到上限提前发送时忽略
+     */
+    private void flush(Batch batch) {
+        lock.lock();
+        try {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        inFlight.add(batch);
+        try {
+            dispatcher.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(batch);
+            batch.fail(new BackendUnavailableException("read batching backend is closed"));
+        }
+    }
+
+    private void execute(Batch batch) {
+        try {
+            try {
+                if (batch.futures.size() == 1) {
+                    // 单键批次直接GET
+                    Map.Entry<String, List<CompletableFuture<Object>>> entry = batch.futures.entrySet().iterator().next();
+                    complete(entry.getValue(), delegate.get(entry.getKey()));
+                    return;
+                }
+                Map<String, Object> values = delegate.getAll(batch.futures.keySet());
+                batch.futures.forEach((key, futures) -> complete(futures, values.get(key)));
+            } catch (Throwable e) {
+                batch.fail(e);
+            }
+        } finally {
+            inFlight.remove(batch);
+        }
+    }
+
+    /**
+     * 完成同一个键的所有读取，第一个调用方得到读取到的对象，其他调用方得到副本
+     */
+    private void complete(List<CompletableFuture<Object>> futures, Object value) {
+        futures.get(0).complete(value);
+        for (int i = 1; i < futures.size(); i++) {
+            CompletableFuture<Object> future = futures.get(i);
+            try {
+                future.complete(value == null || copier == null ? value : copier.apply(value));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("batched read failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for batched read", e);
+        }
+    }
+
+    /**
+     * 读取批次，收集期间由锁保护，发送后只读
+     */
+    private static final class Batch {
+
+        private final Map<String, List<CompletableFuture<Object>>> futures = new LinkedHashMap<>();
+
+        /**
+         * 以异常完成所有尚未完成的读取
+         */
+        private void fail(Throwable e) {
+            futures.values().forEach(list -> list.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.imu.toolkit.redisson.backend;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 存储后端SPI
+ * RCache和各切面通过该接口访问KV、哈希、锁、限流和发布订阅能力，
+ * 默认实现基于Redisson，单实例部署和测试可使用 {@link InMemoryCacheBackend}
+ * <p>
+ * 过期时间统一使用毫秒，-1表示永不过期
+ */
+public interface CacheBackend {
+
+    // ==================== KV操作 ====================
+
+    /**
+     * 获取值
+     * @param key 键
+     * @param <V> 值类型
+     * @return 值，不存在时返回null
+     */
+    <V> V get(String key);
+
+    /**
+     * 设置值
+     * @param key 键
+     * @param value 值
+     * @param ttlMs 过期时间（毫秒），-1表示永不过期
+     */
+    <V> void set(String key, V value, long ttlMs);
+
+    /**
+     * 批量获取值，默认逐个获取
+     * @param keys 键列表
+     * @param <V> 值类型
+     * @return 已存在的键值映射，不存在的键不包含在结果中
+     */
+    default <V> Map<String, V> getAll(Collection<String> keys) {
+        Map<String, V> values = new HashMap<>();
+        for (String key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 从从节点读取值，可能读到复制延迟内的旧值，不区分主从的后端默认与get相同
+     * @param key 键
+     * @param <V> 值类型
+     * @return 值，不存在时返回null
+     */
+    default <V> V getFromReplicaNode(String key) {
+        return get(key);
+    }
+
+    /**
+     * 删除键
+     * @param key 键
+     * @return 是否删除成功
+     */
+    boolean delete(String key);
+
+    /**
+     * 批量删除键
+     * @param keys 键列表
+     * @return 删除成功的数量
+     */
+    long delete(Collection<String> keys);
+
+    /**
+     * 批量非阻塞删除键，默认等同于delete
+     * @param keys 键列表
+     * @return 删除成功的数量
+     */
+    default long unlink(Collection<String> keys) {
+        return delete(keys);
+    }
+
+    /**
+     * 检查键是否存在
+     * @param key 键
+     * @return 是否存在
+     */
+    boolean exists(String key);
+
+    /**
+     * 设置过期时间
+     * @param key 键
+     * @param ttlMs 过期时间（毫秒），-1表示移除过期时间
+     * @return 是否设置成功
+     */
+    boolean expire(String key, long ttlMs);
+
+    /**
+     * 获取剩余过期时间
+     * @param key 键
+     * @return 剩余毫秒数，-1表示永不过期，-2表示不存在
+     */
+    long remainTimeToLive(String key);
+
+    // ==================== 哈希操作 ====================
+
+    /**
+     * 获取哈希字段值
+     */
+    <V> V hget(String key, String field);
+
+    /**
+     * 设置哈希字段值
+     */
+    <V> void hset(String key, String field, V value);
+
+    /**
+     * 批量设置哈希字段值
+     */
+    <V> void hsetAll(String key, Map<String, V> values);
+
+    /**
+     * 获取哈希所有字段和值的副本
+     */
+    <V> Map<String, V> hgetAll(String key);
+
+    /**
+     * 删除哈希字段
+     * @return 删除成功的数量
+     */
+    long hdel(String key, String... fields);
+
+    /**
+     * 检查哈希字段是否存在
+     */
+    boolean hexists(String key, String field);
+
+    // ==================== 锁和限流 ====================
+
+    /**
+     * 获取锁
+     * @param name 锁名称
+     * @return 锁
+     */
+    BackendLock getLock(String name);
+
+    /**
+     * 获取限流器
+     * 每次获取令牌都按传入的速率检查，同名限流器速率变化时原地生效，保留窗口内已发放的令牌，
+     * 调低速率立即收紧，不会因换用新的限流器而重新发放一整个窗口的令牌
+     * @param name 限流器名称
+     * @param limit 时间窗口内允许的令牌数
+     * @param windowMs 时间窗口（毫秒）
+     * @return 限流器
+     */
+    BackendRateLimiter getRateLimiter(String name, long limit, long windowMs);
+
+    /**
+     * 获取许可可过期的信号量
+     * 同名信号量的许可总数只在第一次创建时设置，后续获取复用已有配置
+     * @param name 信号量名称
+     * @param permits 许可总数
+     * @return 信号量
+     */
+    BackendSemaphore getSemaphore(String name, int permits);
+
+    // ==================== 发布订阅 ====================
+
+    /**
+     * 发布消息
+     * @param topic 主题
+     * @param message 消息
+     * @return 接收到消息的订阅者数量
+     */
+    long publish(String topic, Object message);
+
+    /**
+     * 订阅主题
+     * @param topic 主题
+     * @param listener 消息监听器
+     * @return 监听器ID，用于取消订阅
+     */
+    int subscribe(String topic, Consumer<Object> listener);
+
+    /**
+     * 取消订阅
+     * @param topic 主题
+     * @param listenerId 监听器ID
+     */
+    void unsubscribe(String topic, int listenerId);
+}
@@ -0,0 +1,116 @@
+package com.imu.toolkit.redisson.backend;
+
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import io.netty.buffer.ByteBuf;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * 存储后端配置
+ * 通过 imu.redisson.backend 选择后端：redisson（默认）或 memory
+ * <p>
+ * 开启 imu.redisson.degrade.enabled 后为后端包装延迟预算和熔断器，后端变慢或不可用时快速失败，
+ * 由各注解的降级策略决定绕过、放行或拒绝：
+ * imu.redisson.degrade.operation-timeout 单次操作延迟预算，默认100ms；
+ * imu.redisson.degrade.failure-threshold 打开熔断器的连续失败次数，默认5；
+ * imu.redisson.degrade.open-duration 熔断打开时长，之后半开探测，默认5s
+ * <p>
+ * 开启 imu.redisson.read-batch.enabled 后合并并发的单键读取为批量读取：
+ * imu.redisson.read-batch.window-micros 合并时间窗口（微秒），默认200；
+ * imu.redisson.read-batch.max-size 单批次最大键数，默认64；
+ * 同一批次内重复读取同一个键时，Redisson后端按客户端编解码器为其他调用方复制值
+ * <p>
+ * 使用内存后端且不需要连接Redis时，需排除Redisson自动配置（RedissonAutoConfigurationV2），
+ * 否则启动时仍会创建Redisson客户端并尝试连接
+ */
+@Configuration
+public class CacheBackendConfiguration {
+
+    /**
+     * Redisson后端
+     */
+    public static final String BACKEND_REDISSON = "redisson";
+
+    /**
+     * 内存后端
+     */
+    public static final String BACKEND_MEMORY = "memory";
+
+    @Bean
+    public CacheBackend cacheBackend(@Value("${imu.redisson.backend:" + BACKEND_REDISSON + "}") String backend,
+                                     @Value("${imu.redisson.degrade.enabled:false}") boolean degradeEnabled,
+                                     @Value("${imu.redisson.degrade.operation-timeout:100ms}") String operationTimeout,
+                                     @Value("${imu.redisson.degrade.failure-threshold:5}") int failureThreshold,
+                                     @Value("${imu.redisson.degrade.open-duration:5s}") String openDuration,
+                                     @Value("${imu.redisson.read-batch.enabled:false}") boolean readBatchEnabled,
+                                     @Value("${imu.redisson.read-batch.window-micros:200}") long readBatchWindowMicros,
+                                     @Value("${imu.redisson.read-batch.max-size:64}") int readBatchMaxSize,
+                                     ObjectProvider<RedissonClient> redissonClientProvider) {
+        CacheBackend cacheBackend = createBackend(backend, redissonClientProvider);
+        if (degradeEnabled) {
+            CircuitBreaker circuitBreaker = new CircuitBreaker(failureThreshold, TimeUtil.parseTimeToMillis(openDuration));
+            cacheBackend = new CircuitBreakerCacheBackend(cacheBackend, circuitBreaker, TimeUtil.parseTimeToMillis(operationTimeout));
+        }
+        if (readBatchEnabled) {
+            // 合并在熔断之外，一个批次只占用一次延迟预算
+            RedissonCacheBackend redissonBackend = DelegatingCacheBackend.find(cacheBackend, RedissonCacheBackend.class);
+            UnaryOperator<Object> copier = redissonBackend != null
+                    ? codecCopier(redissonBackend.getRedissonClient().getConfig().getCodec())
+                    : null;
+            cacheBackend = new BatchingCacheBackend(cacheBackend, readBatchWindowMicros, readBatchMaxSize, copier);
+        }
+        return cacheBackend;
+    }
+
+    /**
+     * 按编解码器序列化后再反序列化复制值，不可变的常用类型直接共享
+     * 内存后端读取时本就共享存储的对象，无需复制
+     */
+    private static UnaryOperator<Object> codecCopier(Codec codec) {
+        return value -> {
+            if (value instanceof String || value instanceof Boolean || value instanceof Character
+                    || value instanceof Integer || value instanceof Long || value instanceof Double
+                    || value instanceof Float || value instanceof Short || value instanceof Byte
+                    || value instanceof BigDecimal || value instanceof BigInteger || value instanceof Enum<?>) {
+                return value;
+            }
+            ByteBuf buf;
+            try {
+                buf = codec.getValueEncoder().encode(value);
+            } catch (IOException e) {
+                throw new IllegalStateException("failed to copy batched read value", e);
+            }
+            try {
+                return codec.getValueDecoder().decode(buf, new State());
+            } catch (IOException e) {
+                throw new IllegalStateException("failed to copy batched read value", e);
+            } finally {
+                buf.release();
+            }
+        };
+    }
+
+    private CacheBackend createBackend(String backend, ObjectProvider<RedissonClient> redissonClientProvider) {
+        if (BACKEND_MEMORY.equalsIgnoreCase(backend)) {
+            return new InMemoryCacheBackend();
+        }
+        if (BACKEND_REDISSON.equalsIgnoreCase(backend)) {
+            RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+            if (redissonClient == null) {
+                throw new IllegalStateException("imu.redisson.backend=redisson requires a RedissonClient bean");
+            }
+            return new RedissonCacheBackend(redissonClient);
+        }
+        throw new IllegalArgumentException("unsupported imu.redisson.backend: " + backend);
+    }
+}
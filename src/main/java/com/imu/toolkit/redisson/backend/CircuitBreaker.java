@@ -0,0 +1,126 @@
+package com.imu.toolkit.redisson.backend;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 存储后端熔断器
+ * 连续失败达到阈值后打开，打开期间所有调用快速失败；
+ * 打开时长结束后进入半开状态，只放行一次探测调用，成功则关闭，失败则重新打开；
+ * 探测调用被中断或未能执行时放弃探测，回到打开状态；探测超过探测超时仍未记录结果时视为丢失，放行新的探测调用
+ */
+public class CircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openDurationMs;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final long probeTimeoutMs;
+
+    private volatile long openedAt;
+
+    /**
+     * 当前探测调用的开始时间
+     */
+    private final AtomicLong probeStartedAt = new AtomicLong();
+
+    /**
+     * 探测超时与打开时长相同
+     * @param failureThreshold 打开熔断器的连续失败次数
+     * @param openDurationMs 打开状态持续时间（毫秒），之后进入半开探测
+     */
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        this(failureThreshold, openDurationMs, openDurationMs);
+    }
+
+    /**
+     * @param failureThreshold 打开熔断器的连续失败次数
+     * @param openDurationMs 打开状态持续时间（毫秒），之后进入半开探测
+     * @param probeTimeoutMs 探测超时（毫秒），超过后放行新的探测调用
+     */
+    public CircuitBreaker(int failureThreshold, long openDurationMs, long probeTimeoutMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = openDurationMs;
+        this.probeTimeoutMs = Math.max(1, probeTimeoutMs);
+    }
+
+    /**
+     * 尝试获取调用许可
+     * @return 是否允许调用，半开状态下只有第一个调用者获得探测许可
+     */
+    public boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (current == State.OPEN && now - openedAt >= openDurationMs) {
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                probeStartedAt.set(now);
+                return true;
+            }
+            return false;
+        }
+        if (current == State.HALF_OPEN) {
+            // 探测调用丢失（未记录任何结果），放行新的探测
+            long started = probeStartedAt.get();
+            return now - started >= probeTimeoutMs && probeStartedAt.compareAndSet(started, now);
+        }
+        return false;
+    }
+
+    /**
+     * 记录获得许可的调用未产生结果（被中断或未能执行）
+     * 半开状态下放弃当前探测，回到打开状态，下一个调用者可立即重新探测；关闭状态下不计入失败
+     */
+    public void onAbandoned() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    /**
+     * 记录调用成功
+     */
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        // 只有半开探测成功才关闭，打开前发出的慢调用晚到的成功不影响打开状态
+        state.compareAndSet(State.HALF_OPEN, State.CLOSED);
+    }
+
+    /**
+     * 记录调用失败
+     */
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 获取当前状态
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt = System.currentTimeMillis();
+        state.set(State.OPEN);
+        consecutiveFailures.set(0);
+    }
+}
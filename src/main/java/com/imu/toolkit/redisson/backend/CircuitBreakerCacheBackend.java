@@ -0,0 +1,329 @@
+package com.imu.toolkit.redisson.backend;
+
+import org.redisson.client.RedisException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 带延迟预算和熔断的存储后端装饰器
+ * 每次操作在虚拟线程上执行，调用方最多等待延迟预算（锁、限流和信号量为等待时间加延迟预算），
+ * 超时、连接异常和Redis返回的错误计为失败，连续失败达到阈值后熔断器打开，期间所有操作立即抛出 {@link BackendUnavailableException}；
+ * 编解码、类型转换等与存储后端可用性无关的异常不计为失败，原样抛给调用方
+ * <p>
+ * 释放锁和归还许可不受熔断器限制，始终尝试执行，失败时由租期兜底
+ */
+public class CircuitBreakerCacheBackend implements DelegatingCacheBackend, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerCacheBackend.class);
+
+    private final CacheBackend delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final long operationTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param delegate 实际存储后端
+     * @param circuitBreaker 熔断器
+     * @param operationTimeoutMs 单次操作延迟预算（毫秒）
+     */
+    public CircuitBreakerCacheBackend(CacheBackend delegate, CircuitBreaker circuitBreaker, long operationTimeoutMs) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.operationTimeoutMs = operationTimeoutMs;
+    }
+
+    @Override
+    public CacheBackend getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 获取熔断器
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 在熔断保护和延迟预算内执行任意后端操作
+     * @param operation 操作
+     * @param <T> 返回类型
+     * @return 操作结果
+     * @throws BackendUnavailableException 熔断器打开、超时或操作失败时抛出
+     */
+    public <T> T execute(Callable<T> operation) {
+        try {
+            return call(operation, operationTimeoutMs, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackendUnavailableException("backend operation interrupted", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        DelegatingCacheBackend.closeDelegate(delegate);
+    }
+
+    // ==================== KV操作 ====================
+
+    @Override
+    public <V> V get(String key) {
+        return execute(() -> delegate.get(key));
+    }
+
+    @Override
+    public <V> Map<String, V> getAll(Collection<String> keys) {
+        return execute(() -> delegate.getAll(keys));
+    }
+
+    @Override
+    public <V> V getFromReplicaNode(String key) {
+        return execute(() -> delegate.getFromReplicaNode(key));
+    }
+
+    @Override
+    public <V> void set(String key, V value, long ttlMs) {
+        execute(() -> {
+            delegate.set(key, value, ttlMs);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return execute(() -> delegate.delete(key));
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        return execute(() -> delegate.delete(keys));
+    }
+
+    @Override
+    public long unlink(Collection<String> keys) {
+        return execute(() -> delegate.unlink(keys));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return execute(() -> delegate.exists(key));
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMs) {
+        return execute(() -> delegate.expire(key, ttlMs));
+    }
+
+    @Override
+    public long remainTimeToLive(String key) {
+        return execute(() -> delegate.remainTimeToLive(key));
+    }
+
+    // ==================== 哈希操作 ====================
+
+    @Override
+    public <V> V hget(String key, String field) {
+        return execute(() -> delegate.hget(key, field));
+    }
+
+    @Override
+    public <V> void hset(String key, String field, V value) {
+        execute(() -> {
+            delegate.hset(key, field, value);
+            return null;
+        });
+    }
+
+    @Override
+    public <V> void hsetAll(String key, Map<String, V> values) {
+        execute(() -> {
+            delegate.hsetAll(key, values);
+            return null;
+        });
+    }
+
+    @Override
+    public <V> Map<String, V> hgetAll(String key) {
+        return execute(() -> delegate.hgetAll(key));
+    }
+
+    @Override
+    public long hdel(String key, String... fields) {
+        return execute(() -> delegate.hdel(key, fields));
+    }
+
+    @Override
+    public boolean hexists(String key, String field) {
+        return execute(() -> delegate.hexists(key, field));
+    }
+
+    // ==================== 锁和限流 ====================
+
+    @Override
+    public BackendLock getLock(String name) {
+        BackendLock lock = delegate.getLock(name);
+        return new BackendLock() {
+            @Override
+            public boolean tryLock(long waitMs, long leaseMs, long ownerId) throws InterruptedException {
+                return call(() -> lock.tryLock(waitMs, leaseMs, ownerId), Math.max(0, waitMs) + operationTimeoutMs, true);
+            }
+
+            @Override
+            public void unlock(long ownerId) {
+                try {
+                    call(() -> {
+                        lock.unlock(ownerId);
+                        return null;
+                    }, operationTimeoutMs, false);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (BackendUnavailableException e) {
+                    logger.warn("释放锁失败，等待租期到期自动释放: {}", name, e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BackendRateLimiter getRateLimiter(String name, long limit, long windowMs) {
+        BackendRateLimiter rateLimiter = execute(() -> delegate.getRateLimiter(name, limit, windowMs));
+        return (waitMs, asyncWait) -> call(() -> rateLimiter.tryAcquire(waitMs, asyncWait),
+                Math.max(0, waitMs) + operationTimeoutMs, true);
+    }
+
+    @Override
+    public BackendSemaphore getSemaphore(String name, int permits) {
+        BackendSemaphore semaphore = execute(() -> delegate.getSemaphore(name, permits));
+        return new BackendSemaphore() {
+            @Override
+            public String tryAcquire(long waitMs, long leaseMs, boolean asyncWait) throws InterruptedException {
+                return call(() -> semaphore.tryAcquire(waitMs, leaseMs, asyncWait), Math.max(0, waitMs) + operationTimeoutMs, true);
+            }
+
+            @Override
+            public void release(String permitId) {
+                try {
+                    call(() -> {
+                        semaphore.release(permitId);
+                        return null;
+                    }, operationTimeoutMs, false);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (BackendUnavailableException e) {
+                    logger.warn("归还许可失败，等待租期到期自动归还: {}", name, e);
+                }
+            }
+        };
+    }
+
+    // ==================== 发布订阅 ====================
+
+    @Override
+    public long publish(String topic, Object message) {
+        return execute(() -> delegate.publish(topic, message));
+    }
+
+    @Override
+    public int subscribe(String topic, Consumer<Object> listener) {
+        return execute(() -> delegate.subscribe(topic, listener));
+    }
+
+    @Override
+    public void unsubscribe(String topic, int listenerId) {
+        execute(() -> {
+            delegate.unsubscribe(topic, listenerId);
+            return null;
+        });
+    }
+
+    /**
+     * 在延迟预算内执行操作
+     * @param operation 操作
+     * @param budgetMs 延迟预算（毫秒）
+     * @param guarded 是否受熔断器限制
+     */
+    private <T> T call(Callable<T> operation, long budgetMs, boolean guarded) throws InterruptedException {
+        if (guarded && !circuitBreaker.tryAcquirePermission()) {
+            throw new BackendUnavailableException("backend circuit breaker is open");
+        }
+        // 不受熔断器限制的调用（释放锁、归还许可）不参与熔断统计，避免在探测完成前关闭半开的熔断器
+        boolean recorded = !guarded;
+        Future<T> future = null;
+        try {
+            future = executor.submit(operation);
+            T result = future.get(budgetMs, TimeUnit.MILLISECONDS);
+            if (guarded) {
+                circuitBreaker.onSuccess();
+                recorded = true;
+            }
+            return result;
+        } catch (TimeoutException e) {
+            // 中断执行线程，锁等待会在中断时补偿释放
+            future.cancel(true);
+            if (guarded) {
+                circuitBreaker.onFailure();
+                recorded = true;
+            }
+            throw new BackendUnavailableException("backend operation exceeded " + budgetMs + "ms", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            boolean backendFailure = isBackendFailure(cause);
+            if (guarded) {
+                // 存储后端正常应答，异常来自值本身（如编解码失败）时按成功记录
+                if (backendFailure) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                recorded = true;
+            }
+            if (backendFailure) {
+                throw new BackendUnavailableException("backend operation failed: " + cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } finally {
+            if (!recorded) {
+                // 被中断或提交被拒绝，调用没有结果，释放可能持有的半开探测许可
+                circuitBreaker.onAbandoned();
+            }
+        }
+    }
+
+    /**
+     * 是否为存储后端故障：超时、连接异常或Redis返回的错误，沿异常链查找
+     */
+    private static boolean isBackendFailure(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof RedisException || current instanceof TimeoutException
+                    || current instanceof BackendUnavailableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.imu.toolkit.redisson.backend;
+
+/**
+ * 装饰其他存储后端的后端
+ * RCache沿装饰链查找Redisson后端和熔断器，装饰器需通过该接口暴露被装饰的后端
+ */
+public interface DelegatingCacheBackend extends CacheBackend {
+
+    /**
+     * 获取被装饰的后端
+     * @return 被装饰的后端
+     */
+    CacheBackend getDelegate();
+
+    /**
+     * 沿装饰链查找指定类型的后端
+     * @param backend 最外层后端
+     * @param type 后端类型
+     * @param <T> 后端类型
+     * @return 找到的后端，不存在时返回null
+     */
+    static <T extends CacheBackend> T find(CacheBackend backend, Class<T> type) {
+        CacheBackend current = backend;
+        while (current != null) {
+            if (type.isInstance(current)) {
+                return type.cast(current);
+            }
+            current = current instanceof DelegatingCacheBackend delegating ? delegating.getDelegate() : null;
+        }
+        return null;
+    }
+
+    /**
+     * 关闭被装饰的后端，供装饰器的close使用
+     * @param delegate 被装饰的后端，未实现AutoCloseable时忽略
+     */
+    static void closeDelegate(CacheBackend delegate) {
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("failed to close cache backend", e);
+            }
+        }
+    }
+}
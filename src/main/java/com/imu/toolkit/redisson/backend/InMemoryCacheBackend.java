@@ -0,0 +1,643 @@
+package com.imu.toolkit.redisson.backend;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 基于本地内存的存储后端
+ * 适用于不需要跨节点协调的单实例部署、边缘节点以及测试和压测场景，所有操作均在进程内完成
+ * <p>
+ * 1. KV和哈希基于ConcurrentHashMap，过期由时间轮主动清理，读取时也会惰性检查
+ * 2. 锁、限流器和信号量均为本地实现，空闲后由周期清理任务回收
+ * 3. 值按引用保存而不是序列化副本，调用方不应修改已缓存的对象
+ */
+public class InMemoryCacheBackend implements CacheBackend, AutoCloseable {
+
+    /**
+     * 空闲锁、限流器和信号量的清理周期（毫秒）
+     */
+    private static final long SWEEP_INTERVAL_MS = 10_000;
+
+    private final ConcurrentHashMap<String, Entry> store = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, LocalLock> locks = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, LocalRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, LocalSemaphore> semaphores = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, Consumer<Object>>> topics = new ConcurrentHashMap<>();
+
+    private final AtomicInteger listenerIdSequence = new AtomicInteger();
+
+    private final HashedWheelTimer timer;
+
+    /**
+     * 消息投递执行器，单线程保证同一进程内消息的顺序
+     */
+    private final ExecutorService messageExecutor;
+
+    public InMemoryCacheBackend() {
+        this.timer = new HashedWheelTimer(new DefaultThreadFactory("imu-cache-expire", true), 10, TimeUnit.MILLISECONDS, 512);
+        this.messageExecutor = Executors.newSingleThreadExecutor(new DefaultThreadFactory("imu-cache-topic", true));
+        scheduleSweep();
+    }
+
+    @Override
+    public void close() {
+        timer.stop();
+        messageExecutor.shutdownNow();
+    }
+
+    // ==================== KV操作 ====================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V get(String key) {
+        Entry entry = liveEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.value instanceof HashValue) {
+            throw new IllegalStateException("WRONGTYPE key holds a hash: " + key);
+        }
+        return (V) entry.value;
+    }
+
+    @Override
+    public <V> void set(String key, V value, long ttlMs) {
+        if (value == null) {
+            // 与Redisson保持一致：设置null等同于删除
+            delete(key);
+            return;
+        }
+        store.compute(key, (k, old) -> {
+            if (old != null) {
+                old.cancelTimeout();
+            }
+            Entry entry = new Entry(value);
+            scheduleExpire(k, entry, ttlMs);
+            return entry;
+        });
+    }
+
+    @Override
+    public boolean delete(String key) {
+        Entry removed = store.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        removed.cancelTimeout();
+        return !removed.isExpired(System.currentTimeMillis());
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        long deleted = 0;
+        for (String key : keys) {
+            if (delete(key)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return liveEntry(key) != null;
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMs) {
+        boolean[] updated = {false};
+        long now = System.currentTimeMillis();
+        store.computeIfPresent(key, (k, entry) -> {
+            if (entry.isExpired(now)) {
+                entry.cancelTimeout();
+                return null;
+            }
+            entry.cancelTimeout();
+            scheduleExpire(k, entry, ttlMs);
+            updated[0] = true;
+            return entry;
+        });
+        return updated[0];
+    }
+
+    @Override
+    public long remainTimeToLive(String key) {
+        Entry entry = liveEntry(key);
+        if (entry == null) {
+            return -2;
+        }
+        long expireAt = entry.expireAt;
+        return expireAt == -1 ? -1 : Math.max(0, expireAt - System.currentTimeMillis());
+    }
+
+    // ==================== 哈希操作 ====================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V hget(String key, String field) {
+        HashValue hash = hashValue(key, false);
+        return hash == null ? null : (V) hash.fields.get(field);
+    }
+
+    @Override
+    public <V> void hset(String key, String field, V value) {
+        hashValue(key, true).fields.put(field, value);
+    }
+
+    @Override
+    public <V> void hsetAll(String key, Map<String, V> values) {
+        hashValue(key, true).fields.putAll(values);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Map<String, V> hgetAll(String key) {
+        HashValue hash = hashValue(key, false);
+        Map<String, V> result = new HashMap<>();
+        if (hash != null) {
+            hash.fields.forEach((field, value) -> result.put(field, (V) value));
+        }
+        return result;
+    }
+
+    @Override
+    public long hdel(String key, String... fields) {
+        HashValue hash = hashValue(key, false);
+        if (hash == null) {
+            return 0;
+        }
+        long deleted = 0;
+        for (String field : fields) {
+            if (hash.fields.remove(field) != null) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public boolean hexists(String key, String field) {
+        HashValue hash = hashValue(key, false);
+        return hash != null && hash.fields.containsKey(field);
+    }
+
+    // ==================== 锁和限流 ====================
+
+    @Override
+    public BackendLock getLock(String name) {
+        return new BackendLock() {
+            @Override
+            public boolean tryLock(long waitMs, long leaseMs, long ownerId) throws InterruptedException {
+                // 在compute中登记等待者，保证清理任务不会回收正在使用的锁
+                LocalLock lock = locks.compute(name, (k, existing) -> {
+                    LocalLock current = existing != null ? existing : new LocalLock();
+                    current.waiters.incrementAndGet();
+                    return current;
+                });
+                try {
+                    return lock.tryLock(waitMs, leaseMs, ownerId);
+                } finally {
+                    lock.waiters.decrementAndGet();
+                }
+            }
+
+            @Override
+            public void unlock(long ownerId) {
+                LocalLock lock = locks.get(name);
+                if (lock != null) {
+                    lock.unlock(ownerId);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BackendRateLimiter getRateLimiter(String name, long limit, long windowMs) {
+        return (waitMs, asyncWait) -> {
+            // 与Redisson一致：速率变化时原地生效，保留窗口内已发放的令牌
+            LocalRateLimiter rateLimiter = rateLimiters.compute(name, (k, existing) -> {
+                LocalRateLimiter current = existing != null ? existing : new LocalRateLimiter();
+                current.waiters.incrementAndGet();
+                return current;
+            });
+            try {
+                return rateLimiter.tryAcquire(limit, windowMs, waitMs);
+            } finally {
+                rateLimiter.waiters.decrementAndGet();
+            }
+        };
+    }
+
+    @Override
+    public BackendSemaphore getSemaphore(String name, int permits) {
+        return new BackendSemaphore() {
+            @Override
+            public String tryAcquire(long waitMs, long leaseMs, boolean asyncWait) throws InterruptedException {
+                // 与Redisson一致：许可总数只在第一次创建时设置
+                LocalSemaphore semaphore = semaphores.compute(name, (k, existing) -> {
+                    LocalSemaphore current = existing != null ? existing : new LocalSemaphore(permits);
+                    current.waiters.incrementAndGet();
+                    return current;
+                });
+                try {
+                    return semaphore.tryAcquire(waitMs, leaseMs);
+                } finally {
+                    semaphore.waiters.decrementAndGet();
+                }
+            }
+
+            @Override
+            public void release(String permitId) {
+                LocalSemaphore semaphore = semaphores.get(name);
+                if (semaphore != null) {
+                    semaphore.release(permitId);
+                }
+            }
+        };
+    }
+
+    // ==================== 发布订阅 ====================
+
+    @Override
+    public long publish(String topic, Object message) {
+        Map<Integer, Consumer<Object>> listeners = topics.get(topic);
+        if (listeners == null || listeners.isEmpty()) {
+            return 0;
+        }
+        for (Consumer<Object> listener : listeners.values()) {
+            messageExecutor.execute(() -> listener.accept(message));
+        }
+        return listeners.size();
+    }
+
+    @Override
+    public int subscribe(String topic, Consumer<Object> listener) {
+        int listenerId = listenerIdSequence.incrementAndGet();
+        topics.computeIfAbsent(topic, k -> new ConcurrentHashMap<>()).put(listenerId, listener);
+        return listenerId;
+    }
+
+    @Override
+    public void unsubscribe(String topic, int listenerId) {
+        topics.computeIfPresent(topic, (k, listeners) -> {
+            listeners.remove(listenerId);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    // ==================== 内部实现 ====================
+
+    /**
+     * 获取未过期的条目，已过期时惰性删除
+     */
+    private Entry liveEntry(String key) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            removeIfExpired(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 获取哈希值
+     * @param create 不存在时是否创建
+     */
+    private HashValue hashValue(String key, boolean create) {
+        Entry entry = liveEntry(key);
+        if (entry == null) {
+            if (!create) {
+                return null;
+            }
+            entry = store.compute(key, (k, old) -> {
+                if (old != null && !old.isExpired(System.currentTimeMillis())) {
+                    return old;
+                }
+                if (old != null) {
+                    old.cancelTimeout();
+                }
+                return new Entry(new HashValue());
+            });
+        }
+        if (!(entry.value instanceof HashValue hash)) {
+            throw new IllegalStateException("WRONGTYPE key does not hold a hash: " + key);
+        }
+        return hash;
+    }
+
+    /**
+     * 为条目注册时间轮过期任务
+     */
+    private void scheduleExpire(String key, Entry entry, long ttlMs) {
+        if (ttlMs == -1) {
+            entry.expireAt = -1;
+            entry.timeout = null;
+            return;
+        }
+        entry.expireAt = System.currentTimeMillis() + ttlMs;
+        entry.timeout = timer.newTimeout(timeout -> removeIfExpired(key, entry), ttlMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void removeIfExpired(String key, Entry entry) {
+        long now = System.currentTimeMillis();
+        store.computeIfPresent(key, (k, current) -> current == entry && current.isExpired(now) ? null : current);
+    }
+
+    /**
+     * 周期性回收空闲的锁和限流器
+     */
+    private void scheduleSweep() {
+        timer.newTimeout(timeout -> {
+            long now = System.currentTimeMillis();
+            for (String name : locks.keySet()) {
+                locks.computeIfPresent(name, (k, lock) -> lock.isIdle(now) ? null : lock);
+            }
+            for (String name : rateLimiters.keySet()) {
+                rateLimiters.computeIfPresent(name, (k, rateLimiter) -> rateLimiter.isIdle(now) ? null : rateLimiter);
+            }
+            for (String name : semaphores.keySet()) {
+                semaphores.computeIfPresent(name, (k, semaphore) -> semaphore.isIdle(now) ? null : semaphore);
+            }
+            scheduleSweep();
+        }, SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 存储条目
+     */
+    private static final class Entry {
+
+        private final Object value;
+
+        /**
+         * 过期时刻（毫秒时间戳），-1表示永不过期
+         */
+        private volatile long expireAt = -1;
+
+        private volatile Timeout timeout;
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+
+        private boolean isExpired(long now) {
+            long current = expireAt;
+            return current != -1 && current <= now;
+        }
+
+        private void cancelTimeout() {
+            Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * 哈希值
+     */
+    private static final class HashValue {
+
+        private final ConcurrentHashMap<String, Object> fields = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 本地可重入锁，支持显式持有者ID和租期
+     */
+    private static final class LocalLock {
+
+        private final ReentrantLock guard = new ReentrantLock();
+
+        private final Condition released = guard.newCondition();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        private long owner;
+
+        private int holdCount;
+
+        private long leaseExpireAt;
+
+        private boolean tryLock(long waitMs, long leaseMs, long ownerId) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + Math.max(0, waitMs);
+            guard.lockInterruptibly();
+            try {
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    if (holdCount == 0 || leaseExpireAt <= now) {
+                        owner = ownerId;
+                        holdCount = 1;
+                        leaseExpireAt = leaseExpireAt(now, leaseMs);
+                        return true;
+                    }
+                    if (owner == ownerId) {
+                        holdCount++;
+                        leaseExpireAt = leaseExpireAt(now, leaseMs);
+                        return true;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    // 等待释放或当前持有者租期到期
+                    long waitNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(remaining, leaseExpireAt - now));
+                    released.awaitNanos(waitNanos);
+                }
+            } finally {
+                guard.unlock();
+            }
+        }
+
+        private void unlock(long ownerId) {
+            guard.lock();
+            try {
+                if (holdCount == 0 || owner != ownerId || leaseExpireAt <= System.currentTimeMillis()) {
+                    return;
+                }
+                if (--holdCount == 0) {
+                    released.signalAll();
+                }
+            } finally {
+                guard.unlock();
+            }
+        }
+
+        private boolean isIdle(long now) {
+            guard.lock();
+            try {
+                return waiters.get() == 0 && (holdCount == 0 || leaseExpireAt <= now);
+            } finally {
+                guard.unlock();
+            }
+        }
+
+        private static long leaseExpireAt(long now, long leaseMs) {
+            if (leaseMs <= 0 || leaseMs > Long.MAX_VALUE - now) {
+                return Long.MAX_VALUE;
+            }
+            return now + leaseMs;
+        }
+    }
+
+    /**
+     * 本地滑动窗口限流器
+     */
+    private static final class LocalRateLimiter {
+
+        private final ReentrantLock guard = new ReentrantLock();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        private final ArrayDeque<Long> acquired = new ArrayDeque<>();
+
+        /**
+         * 最近一次检查使用的时间窗口，用于判断是否空闲
+         */
+        private volatile long windowMs;
+
+        private volatile long lastAcquireAt;
+
+        private boolean tryAcquire(long limit, long windowMs, long waitMs) throws InterruptedException {
+            this.windowMs = windowMs;
+            long deadline = System.currentTimeMillis() + Math.max(0, waitMs);
+            while (true) {
+                long sleepMs;
+                guard.lockInterruptibly();
+                try {
+                    long now = System.currentTimeMillis();
+                    while (!acquired.isEmpty() && acquired.peekFirst() <= now - windowMs) {
+                        acquired.pollFirst();
+                    }
+                    if (acquired.size() < limit) {
+                        acquired.addLast(now);
+                        lastAcquireAt = now;
+                        return true;
+                    }
+                    // 最早的令牌离开窗口时才有新令牌
+                    long availableAt = acquired.peekFirst() + windowMs;
+                    if (availableAt > deadline) {
+                        return false;
+                    }
+                    sleepMs = Math.max(1, availableAt - now);
+                } finally {
+                    guard.unlock();
+                }
+                Thread.sleep(sleepMs);
+            }
+        }
+
+        private boolean isIdle(long now) {
+            return waiters.get() == 0 && lastAcquireAt <= now - windowMs;
+        }
+    }
+
+    /**
+     * 本地许可可过期信号量
+     */
+    private static final class LocalSemaphore {
+
+        private final ReentrantLock guard = new ReentrantLock();
+
+        private final Condition released = guard.newCondition();
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        /**
+         * 已发放的许可及其到期时间
+         */
+        private final Map<String, Long> permits = new HashMap<>();
+
+        private final int limit;
+
+        private LocalSemaphore(int limit) {
+            this.limit = limit;
+        }
+
+        private String tryAcquire(long waitMs, long leaseMs) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + Math.max(0, waitMs);
+            guard.lockInterruptibly();
+            try {
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    long nextExpireAt = purgeExpired(now);
+                    if (permits.size() < limit) {
+                        String permitId = UUID.randomUUID().toString();
+                        permits.put(permitId, LocalLock.leaseExpireAt(now, leaseMs));
+                        return permitId;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    // 等待归还或最早的许可到期
+                    long waitNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(remaining, nextExpireAt - now));
+                    released.awaitNanos(waitNanos);
+                }
+            } finally {
+                guard.unlock();
+            }
+        }
+
+        private void release(String permitId) {
+            guard.lock();
+            try {
+                if (permits.remove(permitId) != null) {
+                    released.signal();
+                }
+            } finally {
+                guard.unlock();
+            }
+        }
+
+        /**
+         * 回收已到期的许可
+         * @return 剩余许可中最早的到期时间
+         */
+        private long purgeExpired(long now) {
+            long nextExpireAt = Long.MAX_VALUE;
+            Iterator<Long> iterator = permits.values().iterator();
+            while (iterator.hasNext()) {
+                long expireAt = iterator.next();
+                if (expireAt <= now) {
+                    iterator.remove();
+                } else {
+                    nextExpireAt = Math.min(nextExpireAt, expireAt);
+                }
+            }
+            return nextExpireAt;
+        }
+
+        private boolean isIdle(long now) {
+            guard.lock();
+            try {
+                purgeExpired(now);
+                return waiters.get() == 0 && permits.isEmpty();
+            } finally {
+                guard.unlock();
+            }
+        }
+    }
+}
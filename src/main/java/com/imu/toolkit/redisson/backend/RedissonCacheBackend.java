@@ -0,0 +1,402 @@
+package com.imu.toolkit.redisson.backend;
+
+import com.imu.toolkit.redisson.utils.AsyncWaitUtil;
+import com.imu.toolkit.redisson.utils.KeySlotUtil;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.redisson.api.RScript;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.BaseMasterSlaveServersConfig;
+import org.redisson.config.Config;
+import org.redisson.config.ReadMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于Redisson的存储后端
+ * <p>
+ * 从节点读取：主客户端的读取模式为MASTER时，按主客户端的配置另建一个读取模式为SLAVE的客户端，
+ * 主客户端已从从节点读取或为单节点部署时直接使用主客户端；存在从节点读取的方法时由
+ * {@link ReplicaClientInitializer} 在启动时创建，否则首次从从节点读取时创建
+ */
+public class RedissonCacheBackend implements CacheBackend, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedissonCacheBackend.class);
+
+    /**
+     * 滑动窗口限流脚本，速率和窗口每次调用传入，速率变化时原地生效
+     * KEYS: 1.限流键（有序集合，成员为每次发放的令牌，分数为发放时间）
+     * ARGV: 1.限流数量 2.时间窗口(ms) 3.本次令牌ID
+     * 获取成功返回0，否则返回窗口内最早的令牌过期前的剩余毫秒数
+     */
+    private static final String RATE_LIMIT_SCRIPT = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[1]) then
+                local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+                local retryAfter = window
+                if oldest[2] then
+                    retryAfter = tonumber(oldest[2]) + window - now
+                end
+                return math.max(retryAfter, 1)
+            end
+            redis.call('ZADD', KEYS[1], now, ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], window)
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * 从节点读取客户端，启动时或首次使用时创建
+     */
+    private volatile RedissonClient replicaClient;
+
+    /**
+     * 已设置过许可数的信号量，每个名称只在本节点第一次获取时设置一次，避免每次调用多一次往返
+     */
+    private final Set<String> initializedSemaphores = ConcurrentHashMap.newKeySet();
+
+    public RedissonCacheBackend(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    /**
+     * 关闭另建的从节点读取客户端，主客户端由容器管理
+     */
+    @Override
+    public void close() {
+        RedissonClient client = replicaClient;
+        if (client != null && client != redissonClient) {
+            client.shutdown();
+        }
+    }
+
+    /**
+     * 获取底层Redisson客户端，用于批量、脚本等Redis专有能力
+     * @return Redisson客户端
+     */
+    public RedissonClient getRedissonClient() {
+        return redissonClient;
+    }
+
+    // ==================== KV操作 ====================
+
+    @Override
+    public <V> V get(String key) {
+        RBucket<V> bucket = redissonClient.getBucket(key);
+        return bucket.get();
+    }
+
+    @Override
+    public <V> Map<String, V> getAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        // MGET，集群模式下由Redisson按槽位拆分
+        return redissonClient.getBuckets().get(keys.toArray(new String[0]));
+    }
+
+    @Override
+    public <V> V getFromReplicaNode(String key) {
+        RBucket<V> bucket = replicaClient().getBucket(key);
+        return bucket.get();
+    }
+
+    @Override
+    public <V> void set(String key, V value, long ttlMs) {
+        RBucket<V> bucket = redissonClient.getBucket(key);
+        if (ttlMs == -1) {
+            bucket.set(value);
+        } else {
+            bucket.set(value, ttlMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return redissonClient.getBucket(key).delete();
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        return removeKeys(keys, false);
+    }
+
+    @Override
+    public long unlink(Collection<String> keys) {
+        return removeKeys(keys, true);
+    }
+
+    private long removeKeys(Collection<String> keys, boolean unlink) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        if (!redissonClient.getConfig().isClusterConfig()) {
+            String[] keyArray = keys.toArray(new String[0]);
+            return unlink ? redissonClient.getKeys().unlink(keyArray) : redissonClient.getKeys().delete(keyArray);
+        }
+
+        // 集群模式下按槽位分组，每个槽位一条多键命令，同一批次按节点管道发送
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        List<RFuture<Long>> futures = new ArrayList<>();
+        for (List<String> slotKeys : KeySlotUtil.groupBySlot(keys).values()) {
+            String[] keyArray = slotKeys.toArray(new String[0]);
+            futures.add(unlink ? batch.getKeys().unlinkAsync(keyArray) : batch.getKeys().deleteAsync(keyArray));
+        }
+        batch.execute();
+        long removed = 0;
+        for (RFuture<Long> future : futures) {
+            removed += future.toCompletableFuture().join();
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return redissonClient.getBucket(key).isExists();
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMs) {
+        if (ttlMs == -1) {
+            // 永不过期：移除过期时间
+            return redissonClient.getBucket(key).clearExpire();
+        }
+        return redissonClient.getBucket(key).expire(ttlMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long remainTimeToLive(String key) {
+        return redissonClient.getBucket(key).remainTimeToLive();
+    }
+
+    // ==================== 哈希操作 ====================
+
+    @Override
+    public <V> V hget(String key, String field) {
+        RMap<String, V> map = redissonClient.getMap(key);
+        return map.get(field);
+    }
+
+    @Override
+    public <V> void hset(String key, String field, V value) {
+        RMap<String, V> map = redissonClient.getMap(key);
+        map.put(field, value);
+    }
+
+    @Override
+    public <V> void hsetAll(String key, Map<String, V> values) {
+        RMap<String, V> map = redissonClient.getMap(key);
+        map.putAll(values);
+    }
+
+    @Override
+    public <V> Map<String, V> hgetAll(String key) {
+        RMap<String, V> map = redissonClient.getMap(key);
+        return new HashMap<>(map);
+    }
+
+    @Override
+    public long hdel(String key, String... fields) {
+        RMap<String, Object> map = redissonClient.getMap(key);
+        return map.fastRemove(fields);
+    }
+
+    @Override
+    public boolean hexists(String key, String field) {
+        RMap<String, Object> map = redissonClient.getMap(key);
+        return map.containsKey(field);
+    }
+
+    // ==================== 锁和限流 ====================
+
+    @Override
+    public BackendLock getLock(String name) {
+        return new RedissonBackendLock(redissonClient.getLock(name));
+    }
+
+    @Override
+    public BackendRateLimiter getRateLimiter(String name, long limit, long windowMs) {
+        // 不需要初始化，限流键在窗口内无请求时自动过期
+        return new RedissonBackendRateLimiter(redissonClient, name, limit, windowMs);
+    }
+
+    @Override
+    public BackendSemaphore getSemaphore(String name, int permits) {
+        RPermitExpirableSemaphore semaphore = redissonClient.getPermitExpirableSemaphore(name);
+        if (!initializedSemaphores.contains(name)) {
+            // 许可数只在信号量第一次创建时生效，已存在时trySetPermits不做修改；设置成功后才记录，失败时下次调用重试
+            semaphore.trySetPermits(permits);
+            initializedSemaphores.add(name);
+        }
+        return new RedissonBackendSemaphore(semaphore);
+    }
+
+    // ==================== 发布订阅 ====================
+
+    @Override
+    public long publish(String topic, Object message) {
+        return redissonClient.getTopic(topic).publish(message);
+    }
+
+    @Override
+    public int subscribe(String topic, Consumer<Object> listener) {
+        return redissonClient.getTopic(topic).addListener(Object.class, (channel, message) -> listener.accept(message));
+    }
+
+    @Override
+    public void unsubscribe(String topic, int listenerId) {
+        redissonClient.getTopic(topic).removeListener(listenerId);
+    }
+
+    // ==================== 从节点读取 ====================
+
+    /**
+     * 创建从节点读取客户端，已创建时忽略
+     * 在启动阶段调用，避免第一次从从节点读取的请求承担建立连接的延迟，配置错误时启动即失败
+     */
+    public void initReplicaClient() {
+        replicaClient();
+    }
+
+    private RedissonClient replicaClient() {
+        RedissonClient client = replicaClient;
+        if (client == null) {
+            synchronized (this) {
+                client = replicaClient;
+                if (client == null) {
+                    client = createReplicaClient();
+                    replicaClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * 复制主客户端的配置，将读取模式改为SLAVE后创建新客户端
+     */
+    private RedissonClient createReplicaClient() {
+        Config config = new Config(redissonClient.getConfig());
+        BaseMasterSlaveServersConfig<?> serversConfig;
+        if (config.isSingleConfig()) {
+            logger.info("单节点部署，从节点读取使用主客户端");
+            return redissonClient;
+        } else if (config.isClusterConfig()) {
+            serversConfig = config.useClusterServers();
+        } else if (config.isSentinelConfig()) {
+            serversConfig = config.useSentinelServers();
+        } else {
+            try {
+                serversConfig = config.useMasterSlaveServers();
+            } catch (IllegalStateException e) {
+                // 已使用Replicated配置
+                serversConfig = config.useReplicatedServers();
+            }
+        }
+        if (serversConfig.getReadMode() != ReadMode.MASTER) {
+            logger.info("主客户端读取模式为{}，从节点读取使用主客户端", serversConfig.getReadMode());
+            return redissonClient;
+        }
+        serversConfig.setReadMode(ReadMode.SLAVE);
+        RedissonClient client = Redisson.create(config);
+        logger.info("已创建读取模式为SLAVE的从节点读取客户端");
+        return client;
+    }
+
+    /**
+     * Redisson锁适配
+     * 持有者ID为当前线程ID时走Redisson同步API，与isHeldByCurrentThread语义一致；
+     * 其他持有者ID走异步原语，等待期间不阻塞虚拟线程的载体线程
+     */
+    private record RedissonBackendLock(RLock lock) implements BackendLock {
+
+        @Override
+        public boolean tryLock(long waitMs, long leaseMs, long ownerId) throws InterruptedException {
+            if (ownerId == Thread.currentThread().threadId()) {
+                return lock.tryLock(waitMs, leaseMs, TimeUnit.MILLISECONDS);
+            }
+            return AsyncWaitUtil.tryLock(lock, waitMs, leaseMs, ownerId);
+        }
+
+        @Override
+        public void unlock(long ownerId) {
+            if (ownerId != Thread.currentThread().threadId()) {
+                AsyncWaitUtil.unlock(lock, ownerId);
+            } else if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 滑动窗口限流器，与@FusedGuard融合脚本的限流使用相同的算法和数据结构
+     * 令牌不足时按脚本返回的剩余时间等待后重试，直到等待时间用完
+     */
+    private record RedissonBackendRateLimiter(RedissonClient redissonClient, String name, long limit, long windowMs)
+            implements BackendRateLimiter {
+
+        @Override
+        public boolean tryAcquire(long waitMs, boolean asyncWait) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + Math.max(0, waitMs);
+            while (true) {
+                RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+                List<Object> keys = List.of(name);
+                String permitId = UUID.randomUUID().toString();
+                Long retryAfter = asyncWait
+                        // 异步等待结果，不阻塞虚拟线程的载体线程
+                        ? AsyncWaitUtil.await(script.evalAsync(name, RScript.Mode.READ_WRITE, RATE_LIMIT_SCRIPT,
+                                RScript.ReturnType.INTEGER, keys, String.valueOf(limit), String.valueOf(windowMs), permitId))
+                        : script.eval(name, RScript.Mode.READ_WRITE, RATE_LIMIT_SCRIPT,
+                                RScript.ReturnType.INTEGER, keys, String.valueOf(limit), String.valueOf(windowMs), permitId);
+                if (retryAfter == 0) {
+                    return true;
+                }
+                if (System.currentTimeMillis() + retryAfter > deadline) {
+                    return false;
+                }
+                Thread.sleep(retryAfter);
+            }
+        }
+    }
+
+    /**
+     * Redisson许可可过期信号量适配
+     */
+    private record RedissonBackendSemaphore(RPermitExpirableSemaphore semaphore) implements BackendSemaphore {
+
+        @Override
+        public String tryAcquire(long waitMs, long leaseMs, boolean asyncWait) throws InterruptedException {
+            // 同步模式同样基于异步原语等待：同步API被中断时无法得知请求是否已成功，无法补偿释放许可；
+            // 平台线程上等待异步结果与同步调用一样阻塞当前线程
+            return AsyncWaitUtil.tryAcquire(semaphore, waitMs, leaseMs);
+        }
+
+        @Override
+        public void release(String permitId) {
+            // 许可可能已因租期到期被回收
+            semaphore.tryRelease(permitId);
+        }
+    }
+}
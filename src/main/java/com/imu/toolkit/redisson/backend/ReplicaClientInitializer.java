@@ -0,0 +1,56 @@
+package com.imu.toolkit.redisson.backend;
+
+import com.imu.toolkit.redisson.annotation.AddCache;
+import com.imu.toolkit.redisson.annotation.ReadFrom;
+import com.imu.toolkit.redisson.utils.AnnotatedMethodScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * 从节点读取客户端启动初始化
+ * 所有单例初始化完成后扫描 readFrom = REPLICA 的@AddCache方法，存在时立即创建从节点读取客户端；
+ * 区域模式的读取始终在主节点，对区域模式方法设置 REPLICA 时记录警告
+ */
+@Component
+public class ReplicaClientInitializer implements SmartInitializingSingleton, ApplicationContextAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaClientInitializer.class);
+
+    @Autowired
+    private CacheBackend cacheBackend;
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<Method> methods = AnnotatedMethodScanner.scan(applicationContext, method -> {
+            AddCache addCache = method.getAnnotation(AddCache.class);
+            return addCache != null && addCache.readFrom() == ReadFrom.REPLICA;
+        });
+        boolean replicaRead = false;
+        for (Method method : methods) {
+            if (method.getAnnotation(AddCache.class).region().isEmpty()) {
+                replicaRead = true;
+            } else {
+                logger.warn("区域模式的缓存读取始终在主节点，readFrom = REPLICA 不生效: {}", method);
+            }
+        }
+        RedissonCacheBackend redissonBackend = DelegatingCacheBackend.find(cacheBackend, RedissonCacheBackend.class);
+        if (replicaRead && redissonBackend != null) {
+            redissonBackend.initReplicaClient();
+        }
+    }
+}
@@ -19,6 +19,11 @@ public interface RedissonToolkitConstant {
      * 限流默认前缀
      */
     String DEFAULT_RATE_LIMIT_PREFIX = "rate:limit:";
+
+    /**
+     * 并发限制默认前缀
+     */
+    String DEFAULT_CONCURRENCY_LIMIT_PREFIX = "concurrency:limit:";
     
     /**
      * 缓存默认前缀
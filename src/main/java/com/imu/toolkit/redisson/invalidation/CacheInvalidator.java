@@ -0,0 +1,254 @@
+package com.imu.toolkit.redisson.invalidation;
+
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 异步缓存失效管道
+ * 待删除的键先进入队列，时间窗口内重复的键只删除一次，窗口结束或队列达到批次上限时以批量UNLINK发送；
+ * 删除失败的键按指数退避重新入队，超过最大重试次数后记录错误并放弃
+ * <p>
+ * 支持延迟双删：首次删除后经过指定延迟再删除一次，清除并发加载方在数据库更新前读到旧值、
+ * 在删除之后才写回的脏缓存
+ * <p>
+ * 配置项：
+ * imu.redisson.invalidation.window 合并时间窗口，默认50ms；
+ * imu.redisson.invalidation.max-batch-size 单批次最大键数，默认500；
+ * imu.redisson.invalidation.max-retries 最大重试次数，默认3；
+ * imu.redisson.invalidation.retry-delay 首次重试延迟，之后每次翻倍，默认100ms
+ * <p>
+ * 关闭时不中断正在进行的批量删除，等待其完成后，立即执行尚未到期的延迟删除和重试，并同步发送队列中剩余的键
+ */
+@Component
+public class CacheInvalidator implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    /**
+     * 关闭时等待正在进行的批量删除完成的最长时间（毫秒）
+     */
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    @Autowired
+    private RCache rCache;
+
+    @Value("${imu.redisson.invalidation.window:50ms}")
+    private String window;
+
+    @Value("${imu.redisson.invalidation.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${imu.redisson.invalidation.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${imu.redisson.invalidation.retry-delay:100ms}")
+    private String retryDelay;
+
+    private long windowMs;
+
+    private long retryDelayMs;
+
+    /**
+     * 窗口调度、批量删除、重试和延迟双删共用的单线程调度器，批次按顺序发送
+     */
+    private final ScheduledThreadPoolExecutor scheduler =
+            new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("imu-invalidation", true));
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 已安排但尚未到期的延迟删除和重试的键及其安排次数，关闭时立即删除
+     */
+    private final Map<String, Integer> delayedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 待删除的键及其已重试次数，同一个键重复入队时保留较小的重试次数
+     */
+    private Map<String, Integer> pending = new LinkedHashMap<>();
+
+    /**
+     * 当前窗口是否已安排发送
+     */
+    private boolean flushScheduled;
+
+    @Override
+    public void afterPropertiesSet() {
+        windowMs = TimeUtil.parseTimeToMillis(window);
+        retryDelayMs = TimeUtil.parseTimeToMillis(retryDelay);
+        // 关闭后不再执行未到期的任务，其中的键由destroy立即删除
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * 异步删除缓存
+     * @param key 缓存键
+     */
+    public void invalidate(String key) {
+        enqueue(key, 0);
+    }
+
+    /**
+     * 异步删除缓存，并在延迟后再删除一次
+     * @param key 缓存键
+     * @param delayMs 二次删除延迟（毫秒），不大于0时不执行二次删除
+     */
+    public void invalidate(String key, long delayMs) {
+        enqueue(key, 0);
+        invalidateLater(key, delayMs);
+    }
+
+    /**
+     * 延迟后异步删除缓存，用于同步删除后的延迟双删
+     * @param key 缓存键
+     * @param delayMs 延迟（毫秒），不大于0时忽略
+     */
+    public void invalidateLater(String key, long delayMs) {
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            scheduleEnqueue(key, 0, delayMs);
+        } catch (RejectedExecutionException e) {
+            logger.warn("缓存失效管道已关闭，忽略延迟删除: {}", key);
+        }
+    }
+
+    /**
+     * 获取队列中待删除的键数量
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 关闭时等待正在进行的批量删除完成，再立即执行尚未到期的延迟删除和重试，并同步发送队列中剩余的键
+     */
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.warn("等待批量删除缓存完成超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            delayedKeys.keySet().forEach(key -> pending.merge(key, 0, Math::min));
+            delayedKeys.clear();
+        } finally {
+            lock.unlock();
+        }
+        flush();
+    }
+
+    /**
+     * 延迟后将键加入队列，到期前记录在 {@link #delayedKeys} 中
+     */
+    private void scheduleEnqueue(String key, int attempt, long delayMs) {
+        delayedKeys.merge(key, 1, Integer::sum);
+        try {
+            scheduler.schedule(() -> {
+                delayedKeys.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+                enqueue(key, attempt);
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            delayedKeys.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            throw e;
+        }
+    }
+
+    private void enqueue(String key, int attempt) {
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        lock.lock();
+        try {
+            pending.merge(key, attempt, Math::min);
+            if (pending.size() >= Math.max(1, maxBatchSize)) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduleFlush = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (flushNow) {
+                scheduler.execute(this::flush);
+            } else if (scheduleFlush) {
+                scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            // 关闭期间由destroy统一发送
+            logger.debug("缓存失效管道已关闭，等待关闭时发送: {}", key);
+        }
+    }
+
+    /**
+     * 取出队列中的全部键，按批次上限拆分后批量删除
+     */
+    private void flush() {
+        Map<String, Integer> batch;
+        lock.lock();
+        try {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(batch.keySet());
+        int batchSize = Math.max(1, maxBatchSize);
+        for (int i = 0; i < keys.size(); i += batchSize) {
+            List<String> chunk = keys.subList(i, Math.min(i + batchSize, keys.size()));
+            try {
+                rCache.unlink(chunk);
+                logger.debug("批量删除缓存: {}", chunk.size());
+            } catch (Exception e) {
+                logger.warn("批量删除缓存失败，稍后重试: {} 个键, {}", chunk.size(), e.getMessage());
+                chunk.forEach(key -> retry(key, batch.get(key)));
+            }
+        }
+    }
+
+    private void retry(String key, int attempt) {
+        if (attempt >= maxRetries) {
+            logger.error("删除缓存失败，已达到最大重试次数: {}", key);
+            return;
+        }
+        long delayMs = retryDelayMs << Math.min(attempt, 16);
+        try {
+            scheduleEnqueue(key, attempt + 1, delayMs);
+        } catch (RejectedExecutionException e) {
+            logger.error("缓存失效管道已关闭，放弃删除: {}", key);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.imu.toolkit.redisson.tuning;
+
+import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 运行时参数覆盖
+ * 注解上的过期时间、锁等待时间、限流阈值等参数可以在运行时按方法或按前缀覆盖，无需重新部署：
+ * 覆盖值保存在Redis哈希 {@link #STORE_KEY} 中，每个 覆盖目标|属性名 一个字段，单个覆盖值的修改是一条原子的哈希命令；
+ * 修改后通过主题 {@link #TOPIC} 通知所有节点重新加载，并按刷新周期定时重新加载，防止消息丢失；
+ * 加载时逐条校验，非法的覆盖值被丢弃并记录警告，不影响其他覆盖值
+ * <p>
+ * 覆盖目标为 method:完整方法路径 或 prefix:注解前缀，方法覆盖优先于前缀覆盖；
+ * 属性名为注解属性名（如 expire），同一方法上多个注解有同名属性时可用 注解名.属性名（如 AddCache.expire）限定
+ * <p>
+ * 每次加载生成一份不可变快照，切面按方法和注解缓存解析结果，快照替换后重新解析；
+ * 没有任何覆盖时直接返回注解值，不增加调用开销
+ * <p>
+ * 配置项：
+ * imu.redisson.overrides.enabled 是否开启，默认false；
+ * imu.redisson.overrides.refresh-interval 定时重新加载周期，默认30s
+ */
+@Component
+public class ParameterOverrides implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterOverrides.class);
+
+    /**
+     * 覆盖值存储键，字段为 覆盖目标|属性名，值为覆盖值
+     */
+    public static final String STORE_KEY = "imu:overrides";
+
+    /**
+     * 覆盖变更通知主题
+     */
+    public static final String TOPIC = "imu:overrides:changed";
+
+    /**
+     * 方法覆盖目标前缀
+     */
+    public static final String METHOD_TARGET = "method:";
+
+    /**
+     * 前缀覆盖目标前缀
+     */
+    public static final String PREFIX_TARGET = "prefix:";
+
+    /**
+     * 存储字段中覆盖目标与属性名的分隔符，属性名中不会出现
+     */
+    private static final char FIELD_SEPARATOR = '|';
+
+    /**
+     * 各注解支持覆盖的属性
+     */
+    private static final Map<String, List<String>> TUNABLE_ATTRIBUTES = Map.of(
+            "AddCache", List.of("expire", "expireRange", "loadMutexMaxWait", "loadMutexLockLeaseTime"),
+            "PutCache", List.of("expire", "expireRange"),
+            "RateLimit", List.of("limit", "timeWindow", "waitTime"),
+            "DistributedLock", List.of("expire", "waitTime"),
+            "IntervalLock", List.of("expire"),
+            "ConcurrencyLimit", List.of("lease", "waitTime"));
+
+    /**
+     * 整数类型的属性，其余属性均为时间
+     */
+    private static final Set<String> INT_ATTRIBUTES = Set.of("limit");
+
+    /**
+     * 允许为-1的时间属性，与注解一致：expire为-1表示永不过期，waitTime为-1表示不等待
+     */
+    private static final Set<String> NEGATIVE_ONE_ATTRIBUTES = Set.of("expire", "waitTime");
+
+    /**
+     * 允许为0的时间属性，其余时间属性必须为正数
+     */
+    private static final Set<String> ZERO_ATTRIBUTES = Set.of("waitTime", "expireRange");
+
+    @Autowired
+    private RCache rCache;
+
+    @Value("${imu.redisson.overrides.enabled:false}")
+    private boolean enabled;
+
+    @Value("${imu.redisson.overrides.refresh-interval:30s}")
+    private String refreshInterval;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of());
+
+    private volatile int listenerId = -1;
+
+    /**
+     * 上次加载时被丢弃的非法字段，同一字段只在第一次被丢弃时记录警告
+     */
+    private volatile Set<String> rejectedFields = Set.of();
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        subscribe();
+        reload();
+        long intervalMs = TimeUtil.parseTimeToMillis(refreshInterval);
+        scheduler = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("imu-overrides", true));
+        scheduler.scheduleWithFixedDelay(() -> {
+            // 启动时订阅失败的在这里重试
+            if (listenerId < 0) {
+                subscribe();
+            }
+            reload();
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (listenerId >= 0) {
+            try {
+                rCache.unsubscribe(TOPIC, listenerId);
+            } catch (Exception e) {
+                logger.debug("取消订阅参数覆盖主题失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ==================== 切面读取 ====================
+
+    /**
+     * 获取生效的参数值
+     * @param method 方法
+     * @param annotation 注解
+     * @param prefix 注解前缀，没有前缀属性的注解传空字符串
+     * @param attribute 属性名
+     * @param defaultValue 注解上的值
+     * @return 覆盖值，未覆盖时返回注解上的值
+     */
+    public String get(Method method, Annotation annotation, String prefix, String attribute, String defaultValue) {
+        Snapshot current = snapshot;
+        if (current.overrides.isEmpty()) {
+            return defaultValue;
+        }
+        Map<String, String> values = current.resolved.computeIfAbsent(new Target(method, annotation.annotationType()),
+                target -> current.resolve(method, annotation.annotationType().getSimpleName(), prefix));
+        return values.getOrDefault(attribute, defaultValue);
+    }
+
+    /**
+     * 获取生效的整数参数值
+     * @see #get(Method, Annotation, String, String, String)
+     */
+    public int getInt(Method method, Annotation annotation, String prefix, String attribute, int defaultValue) {
+        String value = get(method, annotation, prefix, attribute, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("参数覆盖不是整数，使用注解上的值: {} {}={}", AspectUtil.getMethodFullPath(method), attribute, value);
+            return defaultValue;
+        }
+    }
+
+    // ==================== 管理操作 ====================
+
+    /**
+     * 设置覆盖值并通知所有节点
+     * @param target 覆盖目标，method:完整方法路径 或 prefix:注解前缀
+     * @param attribute 属性名，可用 注解名.属性名 限定
+     * @param value 覆盖值
+     */
+    public void set(String target, String attribute, String value) {
+        validate(target, attribute, value);
+        rCache.hset(STORE_KEY, field(target, attribute), value);
+        publishChange(target);
+    }
+
+    /**
+     * 删除覆盖值，恢复注解上的值
+     * @param target 覆盖目标
+     * @param attribute 属性名
+     */
+    public void remove(String target, String attribute) {
+        if (rCache.hdel(STORE_KEY, field(target, attribute)) == 0) {
+            return;
+        }
+        publishChange(target);
+    }
+
+    /**
+     * 获取当前节点已加载的全部覆盖值
+     * @return 覆盖目标到属性覆盖值的映射
+     */
+    public Map<String, Map<String, String>> getOverrides() {
+        return new TreeMap<>(snapshot.overrides);
+    }
+
+    /**
+     * 获取方法上各注解参数的当前生效值
+     * @param method 方法
+     * @return 注解名.属性名 到生效值的映射
+     */
+    public Map<String, String> getEffectiveValues(Method method) {
+        Map<String, String> effective = new TreeMap<>();
+        for (Annotation annotation : method.getAnnotations()) {
+            String type = annotation.annotationType().getSimpleName();
+            List<String> attributes = TUNABLE_ATTRIBUTES.get(type);
+            if (attributes == null) {
+                continue;
+            }
+            String prefix = String.valueOf(attributeValue(annotation, "prefix"));
+            for (String attribute : attributes) {
+                String declared = String.valueOf(attributeValue(annotation, attribute));
+                effective.put(type + "." + attribute, get(method, annotation, prefix, attribute, declared));
+            }
+        }
+        return effective;
+    }
+
+    /**
+     * 从存储重新加载覆盖值，内容变化时替换快照
+     */
+    public void reload() {
+        try {
+            Map<String, Object> stored = rCache.hgetAll(STORE_KEY);
+            Map<String, Map<String, String>> grouped = new HashMap<>();
+            Set<String> rejected = new HashSet<>();
+            stored.forEach((field, value) -> {
+                int separator = field.lastIndexOf(FIELD_SEPARATOR);
+                try {
+                    if (separator < 0 || value == null) {
+                        throw new IllegalArgumentException("malformed override field: " + field);
+                    }
+                    String target = field.substring(0, separator);
+                    String attribute = field.substring(separator + 1);
+                    validate(target, attribute, String.valueOf(value));
+                    grouped.computeIfAbsent(target, t -> new HashMap<>()).put(attribute, String.valueOf(value));
+                } catch (IllegalArgumentException e) {
+                    rejected.add(field);
+                    if (!rejectedFields.contains(field)) {
+                        logger.warn("丢弃非法的参数覆盖: {}={} {}", field, value, e.getMessage());
+                    }
+                }
+            });
+            rejectedFields = Set.copyOf(rejected);
+            Map<String, Map<String, String>> overrides = new HashMap<>();
+            grouped.forEach((target, values) -> overrides.put(target, Map.copyOf(values)));
+            if (!overrides.equals(snapshot.overrides)) {
+                snapshot = new Snapshot(Map.copyOf(overrides));
+                logger.info("参数覆盖已更新: {}", new TreeMap<>(overrides));
+            }
+        } catch (Exception e) {
+            logger.warn("加载参数覆盖失败，沿用当前值: {}", e.getMessage());
+        }
+    }
+
+    private void subscribe() {
+        try {
+            listenerId = rCache.subscribe(TOPIC, message -> reload());
+        } catch (Exception e) {
+            logger.warn("订阅参数覆盖主题失败，依赖定时重新加载: {}", e.getMessage());
+        }
+    }
+
+    private void publishChange(String target) {
+        reload();
+        rCache.publish(TOPIC, target);
+    }
+
+    private static String field(String target, String attribute) {
+        return target + FIELD_SEPARATOR + attribute;
+    }
+
+    private static void validate(String target, String attribute, String value) {
+        if (!target.startsWith(METHOD_TARGET) && !target.startsWith(PREFIX_TARGET)) {
+            throw new IllegalArgumentException("override target must start with " + METHOD_TARGET + " or " + PREFIX_TARGET + ": " + target);
+        }
+        int dot = attribute.indexOf('.');
+        String name = dot >= 0 ? attribute.substring(dot + 1) : attribute;
+        boolean known = dot >= 0
+                ? TUNABLE_ATTRIBUTES.getOrDefault(attribute.substring(0, dot), List.of()).contains(name)
+                : TUNABLE_ATTRIBUTES.values().stream().anyMatch(attributes -> attributes.contains(name));
+        if (!known) {
+            throw new IllegalArgumentException("attribute is not tunable: " + attribute + ", tunable: " + TUNABLE_ATTRIBUTES);
+        }
+        if (INT_ATTRIBUTES.contains(name)) {
+            if (Integer.parseInt(value) <= 0) {
+                throw new IllegalArgumentException(attribute + " must be positive: " + value);
+            }
+            return;
+        }
+        long millis = TimeUtil.parseTimeToMillis(value);
+        if (millis == -1) {
+            if (!NEGATIVE_ONE_ATTRIBUTES.contains(name)) {
+                throw new IllegalArgumentException(attribute + " does not support -1: " + value);
+            }
+        } else if (millis < 0 || (millis == 0 && !ZERO_ATTRIBUTES.contains(name))) {
+            throw new IllegalArgumentException(attribute + " must be positive: " + value);
+        }
+    }
+
+    private static Object attributeValue(Annotation annotation, String attribute) {
+        try {
+            return annotation.annotationType().getMethod(attribute).invoke(annotation);
+        } catch (NoSuchMethodException e) {
+            return "";
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 解析结果缓存键
+     */
+    private record Target(Method method, Class<? extends Annotation> annotationType) {
+    }
+
+    /**
+     * 覆盖值快照，连同按方法和注解解析后的结果一起替换
+     */
+    private static final class Snapshot {
+
+        private final Map<String, Map<String, String>> overrides;
+
+        private final Map<Target, Map<String, String>> resolved = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, Map<String, String>> overrides) {
+            this.overrides = overrides;
+        }
+
+        /**
+         * 依次应用前缀覆盖和方法覆盖，同一层级内限定属性名优先于未限定属性名
+         */
+        private Map<String, String> resolve(Method method, String type, String prefix) {
+            List<String> attributes = TUNABLE_ATTRIBUTES.getOrDefault(type, List.of());
+            Map<String, String> values = new HashMap<>();
+            for (String target : new String[]{PREFIX_TARGET + prefix, METHOD_TARGET + AspectUtil.getMethodFullPath(method)}) {
+                Map<String, String> targetValues = overrides.get(target);
+                if (targetValues == null) {
+                    continue;
+                }
+                for (String attribute : attributes) {
+                    String value = targetValues.get(attribute);
+                    String qualified = targetValues.get(type + "." + attribute);
+                    if (qualified != null) {
+                        values.put(attribute, qualified);
+                    } else if (value != null) {
+                        values.put(attribute, value);
+                    }
+                }
+            }
+            return Map.copyOf(values);
+        }
+    }
+}
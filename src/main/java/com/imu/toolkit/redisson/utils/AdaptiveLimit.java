@@ -0,0 +1,232 @@
+package com.imu.toolkit.redisson.utils;
+
+import com.imu.toolkit.redisson.backend.BackendLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应限流阈值（AIMD）
+ * 本地统计每个评估周期内被保护方法的调用数、异常数、慢调用数和被限流拒绝数，
+ * 周期结束时在后台评估一次：
+ * 1. 异常率或慢调用比例（即P90延迟超过阈值）超过上限时，阈值乘性下降
+ * 2. 调用健康且周期内出现过限流拒绝（阈值确实成为瓶颈）时，阈值加性增长
+ * 3. 其他情况保持不变
+ * <p>
+ * 当前阈值保存在Redis哈希中由集群共享，每个周期集群内最多增长一次、下降一次，
+ * 多个节点同时判定为不健康时不会叠加下降；存储后端不可用时沿用本地最后一次读取的阈值
+ */
+public class AdaptiveLimit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveLimit.class);
+
+    /**
+     * 判定健康状态所需的最少调用数，调用过少时不调整
+     */
+    private static final long MIN_SAMPLES = 10;
+
+    /**
+     * 慢调用比例上限，超过即P90延迟超过阈值
+     */
+    private static final double MAX_SLOW_RATIO = 0.1;
+
+    /**
+     * 乘性下降系数
+     */
+    private static final double DECREASE_FACTOR = 0.7;
+
+    /**
+     * 加性增长步长占上限的比例，约20个周期从下限增长到上限
+     */
+    private static final int INCREASE_STEPS = 20;
+
+    private static final String FIELD_LIMIT = "limit";
+
+    private static final String FIELD_EPOCH = "epoch";
+
+    private static final String FIELD_DECREASED = "decreased";
+
+    private final String stateKey;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double maxErrorRate;
+
+    private final long intervalMs;
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder slowCalls = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final AtomicBoolean evaluating = new AtomicBoolean(false);
+
+    private volatile int currentLimit;
+
+    private volatile long nextEvaluateAt;
+
+    /**
+     * @param stateKey 共享状态键
+     * @param initialLimit 初始阈值，集群内尚无共享状态时使用
+     * @param minLimit 阈值下限
+     * @param maxLimit 阈值上限
+     * @param latencyThresholdMs 慢调用阈值（毫秒）
+     * @param maxErrorRate 异常率上限
+     * @param intervalMs 评估周期（毫秒）
+     */
+    public AdaptiveLimit(String stateKey, int initialLimit, int minLimit, int maxLimit,
+                         long latencyThresholdMs, double maxErrorRate, long intervalMs) {
+        this.stateKey = stateKey;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.maxErrorRate = maxErrorRate;
+        this.intervalMs = Math.max(1, intervalMs);
+        this.currentLimit = clamp(initialLimit);
+        this.nextEvaluateAt = System.currentTimeMillis() + this.intervalMs;
+    }
+
+    /**
+     * 获取当前阈值，周期到期时在后台触发一次评估，不阻塞调用方
+     * @param rCache 缓存工具
+     * @return 当前阈值
+     */
+    public int currentLimit(RCache rCache) {
+        if (System.currentTimeMillis() >= nextEvaluateAt && evaluating.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("imu-adaptive-limit").start(() -> {
+                try {
+                    evaluate(rCache);
+                } finally {
+                    nextEvaluateAt = System.currentTimeMillis() + intervalMs;
+                    evaluating.set(false);
+                }
+            });
+        }
+        return currentLimit;
+    }
+
+    /**
+     * 获取本地最后一次读取的阈值，用于监控
+     */
+    public int getCurrentLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * 获取共享状态键
+     */
+    public String getStateKey() {
+        return stateKey;
+    }
+
+    /**
+     * 记录一次调用结果
+     * @param elapsedNanos 耗时（纳秒）
+     * @param failed 是否抛出异常
+     */
+    public void record(long elapsedNanos, boolean failed) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+        if (elapsedNanos > latencyThresholdNanos) {
+            slowCalls.increment();
+        }
+    }
+
+    /**
+     * 记录一次限流拒绝
+     */
+    public void onRejected() {
+        rejections.increment();
+    }
+
+    private void evaluate(RCache rCache) {
+        long callCount = calls.sumThenReset();
+        long errorCount = errors.sumThenReset();
+        long slowCount = slowCalls.sumThenReset();
+        long rejectionCount = rejections.sumThenReset();
+
+        Boolean healthy = null;
+        if (callCount >= MIN_SAMPLES) {
+            healthy = (double) errorCount / callCount <= maxErrorRate && (double) slowCount / callCount <= MAX_SLOW_RATIO;
+        }
+        try {
+            if (healthy == null || (healthy && rejectionCount == 0)) {
+                // 无需调整，只同步集群阈值
+                Object shared = rCache.hget(stateKey, FIELD_LIMIT);
+                if (shared instanceof Number number) {
+                    currentLimit = clamp(number.intValue());
+                }
+                return;
+            }
+            adjust(rCache, healthy);
+        } catch (Exception e) {
+            logger.debug("自适应限流阈值评估失败，沿用本地阈值: {} {}", stateKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 在共享状态锁内调整阈值，未获取到锁说明其他节点正在调整，本周期跳过
+     */
+    private void adjust(RCache rCache, boolean healthy) throws InterruptedException {
+        BackendLock lock = rCache.getBackendLock(stateKey + ":lock");
+        long ownerId = AsyncWaitUtil.nextOwnerId();
+        if (!lock.tryLock(0, intervalMs, ownerId)) {
+            return;
+        }
+        try {
+            Map<String, Object> state = rCache.hgetAll(stateKey);
+            int limit = state.get(FIELD_LIMIT) instanceof Number number ? clamp(number.intValue()) : currentLimit;
+            long epoch = state.get(FIELD_EPOCH) instanceof Number number ? number.longValue() : 0;
+            boolean decreased = Boolean.TRUE.equals(state.get(FIELD_DECREASED));
+            long currentEpoch = System.currentTimeMillis() / intervalMs;
+
+            int newLimit = limit;
+            if (epoch < currentEpoch) {
+                newLimit = healthy ? increase(limit) : decrease(limit);
+                decreased = !healthy;
+            } else if (!healthy && !decreased) {
+                // 本周期已有节点增长过阈值，不健康时仍需下降
+                newLimit = decrease(limit);
+                decreased = true;
+            }
+            Map<String, Object> newState = new HashMap<>();
+            newState.put(FIELD_LIMIT, newLimit);
+            newState.put(FIELD_EPOCH, currentEpoch);
+            newState.put(FIELD_DECREASED, decreased);
+            rCache.hsetAll(stateKey, newState);
+
+            if (newLimit != limit) {
+                logger.info("自适应限流阈值调整: {} {} -> {}", stateKey, limit, newLimit);
+            }
+            currentLimit = newLimit;
+        } finally {
+            lock.unlock(ownerId);
+        }
+    }
+
+    private int increase(int limit) {
+        return clamp(limit + Math.max(1, maxLimit / INCREASE_STEPS));
+    }
+
+    private int decrease(int limit) {
+        return clamp((int) (limit * DECREASE_FACTOR));
+    }
+
+    private int clamp(int limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,59 @@
+package com.imu.toolkit.redisson.utils;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 注解方法扫描工具
+ * 扫描容器中所有单例的目标类，找出满足条件的方法，供所有单例初始化完成后的启动检查和缓存预热使用
+ */
+public class AnnotatedMethodScanner {
+
+    /**
+     * 扫描容器中满足条件的方法
+     * @param applicationContext 容器
+     * @param filter 方法条件
+     * @return 满足条件的方法
+     */
+    public static Set<Method> scan(ApplicationContext applicationContext, Predicate<Method> filter) {
+        Set<Method> result = new LinkedHashSet<>();
+        scanBeans(applicationContext, filter).values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * 扫描容器中满足条件的方法，按所属单例的名称分组，供需要调用方法的场景获取对应的单例
+     * @param applicationContext 容器
+     * @param filter 方法条件
+     * @return 单例名称到满足条件的方法，没有满足条件的方法的单例不包含在内
+     */
+    public static Map<String, Set<Method>> scanBeans(ApplicationContext applicationContext, Predicate<Method> filter) {
+        Map<String, Set<Method>> result = new LinkedHashMap<>();
+        for (String beanName : applicationContext.getBeanNamesForType(Object.class, false, false)) {
+            Class<?> beanType = applicationContext.getType(beanName);
+            if (beanType == null) {
+                continue;
+            }
+            if (Proxy.isProxyClass(beanType)) {
+                // JDK代理需要通过实例获取目标类
+                beanType = AopUtils.getTargetClass(applicationContext.getBean(beanName));
+            }
+            Set<Method> methods = MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                    (MethodIntrospector.MetadataLookup<Boolean>) method -> filter.test(method) ? Boolean.TRUE : null).keySet();
+            if (!methods.isEmpty()) {
+                result.put(beanName, methods);
+            }
+        }
+        return result;
+    }
+}
@@ -31,15 +31,41 @@ public class AspectUtil {
     
     /**
      * 根据默认前缀和方法信息构建带方法路径的前缀
+     * 开启紧凑键时方法路径替换为短键，见 {@link MethodKeyRegistry}
      * @param defaultPrefix 默认前缀
      * @param method 方法对象
      * @return 带方法路径的前缀
      */
     public static String buildPrefixWithMethodPath(String defaultPrefix, Method method) {
-        String methodPath = getMethodFullPath(method);
+        String methodPath = MethodKeyRegistry.keyOf(method);
         return defaultPrefix + methodPath + ":";
     }
     
+    /**
+     * 构建缓存区域名
+     * @param prefix 缓存前缀
+     * @param region 区域，为空表示不使用区域模式
+     * @param hashTag 是否为区域添加hash tag，使区域与其互斥锁落在同一槽位
+     * @return 区域名，不使用区域模式时返回null
+     */
+    public static String buildRegionName(String prefix, String region, boolean hashTag) {
+        if (region == null || region.isEmpty()) {
+            return null;
+        }
+        return prefix + (hashTag ? KeySlotUtil.applyHashTag(region) : region);
+    }
+
+    /**
+     * 拼接前缀和键主体，用于锁、限流、防重复提交等键
+     * @param prefix 前缀
+     * @param keyBody 键主体
+     * @param hashTag 是否为键主体添加hash tag，使键主体相同的各类键在Redis Cluster中落在同一槽位
+     * @return 完整键
+     */
+    public static String buildKey(String prefix, String keyBody, boolean hashTag) {
+        return prefix + (hashTag ? KeySlotUtil.applyHashTag(keyBody) : keyBody);
+    }
+
     /**
      * 解析SpEL表达式
      * @param joinPoint 连接点
@@ -47,28 +73,112 @@ public class AspectUtil {
      * @return 解析后的字符串
      */
     public static String resolveSpelExpression(ProceedingJoinPoint joinPoint, String expressionString) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return resolveSpelExpression(joinPoint.getTarget(), signature.getMethod(), joinPoint.getArgs(), expressionString);
+    }
+
+    /**
+     * 解析SpEL表达式（不依赖连接点，供预热等非切面场景使用）
+     * @param target 目标对象
+     * @param method 方法对象
+     * @param args 方法参数
+     * @param expressionString SpEL表达式字符串
+     * @return 解析后的字符串
+     */
+    public static String resolveSpelExpression(Object target, Method method, Object[] args, String expressionString) {
         // 如果不包含#，则不需要解析
         if (!expressionString.contains("#")) {
             return expressionString;
         }
-        
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        Object[] args = joinPoint.getArgs();
-        
+
         // 使用MethodBasedEvaluationContext以支持参数名访问
         EvaluationContext context = new MethodBasedEvaluationContext(
-                joinPoint.getTarget(), method, args, PARAMETER_NAME_DISCOVERER);
-        
+                target, method, args, PARAMETER_NAME_DISCOVERER);
+
         // 解析SpEL表达式
         return PARSER.parseExpression(expressionString).getValue(context, String.class);
     }
 
+    /**
+     * 解析SpEL表达式，可通过#result访问方法返回值
+     * @param joinPoint 连接点
+     * @param expressionString SpEL表达式字符串
+     * @param result 方法返回值
+     * @return 解析后的字符串
+     */
+    public static String resolveSpelExpression(ProceedingJoinPoint joinPoint, String expressionString, Object result) {
+        Object value = evaluateExpression(joinPoint, expressionString, result);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * 计算SpEL表达式的对象值，可通过#result访问方法返回值
+     * 不包含#时按字面量返回
+     * @param joinPoint 连接点
+     * @param expressionString SpEL表达式字符串
+     * @param result 方法返回值
+     * @return 表达式结果
+     */
+    public static Object evaluateExpression(ProceedingJoinPoint joinPoint, String expressionString, Object result) {
+        if (!expressionString.contains("#")) {
+            return expressionString;
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), signature.getMethod(), joinPoint.getArgs(), PARAMETER_NAME_DISCOVERER);
+        context.setVariable("result", result);
+        return PARSER.parseExpression(expressionString).getValue(context);
+    }
+
     public static String parseKeyOrUsePath(ProceedingJoinPoint joinPoint, Method method, String key, String prefix) {
-        String currentKey = AspectUtil.resolveSpelExpression(joinPoint, key);
+        return parseKeyOrUsePath(joinPoint.getTarget(), method, joinPoint.getArgs(), key, prefix);
+    }
+
+    /**
+     * 解析缓存键，key为空时使用包类方法路径
+     * @param joinPoint 连接点
+     * @param method 方法对象
+     * @param key 缓存键表达式
+     * @param prefix 缓存前缀
+     * @param hashTag 是否为键主体添加hash tag，使派生的互斥锁等键与其落在同一槽位
+     * @return 完整缓存键
+     */
+    public static String parseKeyOrUsePath(ProceedingJoinPoint joinPoint, Method method, String key, String prefix, boolean hashTag) {
+        return parseKeyOrUsePath(joinPoint.getTarget(), method, joinPoint.getArgs(), key, prefix, hashTag);
+    }
+
+    /**
+     * 解析缓存键，key为空时使用包类方法路径（不依赖连接点）
+     * @param target 目标对象
+     * @param method 方法对象
+     * @param args 方法参数
+     * @param key 缓存键表达式
+     * @param prefix 缓存前缀
+     * @return 完整缓存键
+     */
+    public static String parseKeyOrUsePath(Object target, Method method, Object[] args, String key, String prefix) {
+        return parseKeyOrUsePath(target, method, args, key, prefix, false);
+    }
+
+    /**
+     * 解析缓存键，key为空时使用包类方法路径（不依赖连接点）
+     * @param target 目标对象
+     * @param method 方法对象
+     * @param args 方法参数
+     * @param key 缓存键表达式
+     * @param prefix 缓存前缀
+     * @param hashTag 是否为键主体添加hash tag
+     * @return 完整缓存键
+     */
+    public static String parseKeyOrUsePath(Object target, Method method, Object[] args, String key, String prefix, boolean hashTag) {
+        String currentKey = AspectUtil.resolveSpelExpression(target, method, args, key);
 
         if (currentKey == null || key.trim().isEmpty()) {
-            currentKey = AspectUtil.getMethodFullPath(method);
+            // 开启紧凑键时使用方法短键
+            currentKey = MethodKeyRegistry.keyOf(method);
+        }
+        if (hashTag) {
+            currentKey = KeySlotUtil.applyHashTag(currentKey);
         }
         return prefix + currentKey;
     }
@@ -0,0 +1,153 @@
+package com.imu.toolkit.redisson.utils;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异步等待工具类
+ * 基于Redisson异步原语实现锁和令牌的等待，等待期间通过CompletableFuture挂起调用线程，
+ * 虚拟线程会被卸载而不会占用载体线程；锁的归属使用显式的持有者ID而不是当前线程ID
+ */
+public class AsyncWaitUtil {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncWaitUtil.class);
+
+    /**
+     * 等待释放锁结果的最长时间（毫秒）
+     */
+    private static final long UNLOCK_TIMEOUT_MS = 3_000;
+
+    /**
+     * 持有者ID序列，使用负数避免与真实线程ID冲突
+     */
+    private static final AtomicLong OWNER_ID_SEQUENCE = new AtomicLong();
+
+    /**
+     * 当前线程的锁持有者ID，线程内的所有异步加锁共用，嵌套获取同一把锁时可重入
+     */
+    private static final ThreadLocal<Long> THREAD_OWNER_ID = ThreadLocal.withInitial(AsyncWaitUtil::nextOwnerId);
+
+    /**
+     * 判断是否使用异步等待模式
+     * 注解显式开启，或当前运行在虚拟线程上时启用
+     * @param asyncWait 注解上的异步等待开关
+     * @return 是否使用异步等待
+     */
+    public static boolean shouldUseAsyncWait(boolean asyncWait) {
+        return asyncWait || Thread.currentThread().isVirtual();
+    }
+
+    /**
+     * 获取锁持有者ID
+     * 异步等待模式下返回当前线程固定的持有者ID，与同步模式以线程ID为持有者一样，同一调用链上嵌套获取同一把锁时可重入；
+     * 同一线程上嵌套获取同一把锁时，内外层的异步等待模式需一致
+     * @param asyncWait 是否使用异步等待
+     * @return 持有者ID
+     */
+    public static long ownerId(boolean asyncWait) {
+        return asyncWait ? THREAD_OWNER_ID.get() : Thread.currentThread().threadId();
+    }
+
+    /**
+     * 生成新的锁持有者ID，用于不需要重入的独立加锁
+     * @return 持有者ID
+     */
+    public static long nextOwnerId() {
+        return -OWNER_ID_SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * 以指定持有者ID异步尝试获取锁
+     * @param lock 锁
+     * @param waitMs 等待时间（毫秒）
+     * @param leaseMs 持有时间（毫秒）
+     * @param ownerId 持有者ID
+     * @return 是否获取成功
+     */
+    public static boolean tryLock(RLock lock, long waitMs, long leaseMs, long ownerId) throws InterruptedException {
+        RFuture<Boolean> future = lock.tryLockAsync(waitMs, leaseMs, TimeUnit.MILLISECONDS, ownerId);
+        try {
+            return Boolean.TRUE.equals(await(future));
+        } catch (InterruptedException e) {
+            // 被中断时等待请求可能已经成功，需补偿释放，防止锁泄漏到租期结束
+            future.toCompletableFuture().thenAccept(acquired -> {
+                if (Boolean.TRUE.equals(acquired)) {
+                    lock.unlockAsync(ownerId);
+                }
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * 以指定持有者ID异步释放锁，最多等待 {@link #UNLOCK_TIMEOUT_MS} 确认释放完成
+     * 锁已因租期到期被释放时忽略异常，等待超时时由租期兜底
+     * @param lock 锁
+     * @param ownerId 持有者ID
+     */
+    public static void unlock(RLock lock, long ownerId) {
+        try {
+            lock.unlockAsync(ownerId).toCompletableFuture().get(UNLOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            logger.debug("释放锁失败，锁可能已因租期到期释放: {} {}", lock.getName(), e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            logger.warn("释放锁超时，等待租期到期自动释放: {}", lock.getName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 异步尝试获取信号量许可
+     * @param semaphore 许可可过期信号量
+     * @param waitMs 等待时间（毫秒），小于等于0时不等待
+     * @param leaseMs 许可租期（毫秒）
+     * @return 许可ID，获取失败时返回null
+     */
+    public static String tryAcquire(RPermitExpirableSemaphore semaphore, long waitMs, long leaseMs) throws InterruptedException {
+        RFuture<String> future = semaphore.tryAcquireAsync(Math.max(0, waitMs), leaseMs, TimeUnit.MILLISECONDS);
+        try {
+            return await(future);
+        } catch (InterruptedException e) {
+            // 被中断时等待请求可能已经成功，需补偿释放，防止许可泄漏到租期结束
+            future.toCompletableFuture().thenAccept(permitId -> {
+                if (permitId != null) {
+                    semaphore.tryReleaseAsync(permitId);
+                }
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * 挂起当前线程等待异步结果
+     * CompletableFuture基于LockSupport挂起，虚拟线程等待时会让出载体线程
+     * @param future 异步结果
+     * @param <T> 结果类型
+     * @return 结果
+     */
+    public static <T> T await(RFuture<T> future) throws InterruptedException {
+        CompletableFuture<T> completableFuture = future.toCompletableFuture();
+        try {
+            return completableFuture.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
+        } catch (CancellationException e) {
+            throw new RuntimeException("async wait cancelled", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.imu.toolkit.redisson.utils;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 缓存值包装
+ * 在缓存值旁记录加载耗时和过期时刻，用于概率性提前刷新（XFetch）
+ * 读取方根据剩余时间和重建成本决定是否提前重建，过期前通常只有一个读取方执行重建
+ */
+public class CacheEnvelope implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 缓存值
+     * 包装的是任意方法的返回值，类型不固定，无法声明为可序列化类型；
+     * 使用JDK序列化的编解码器时，缓存值本身需要实现Serializable，与未包装时的要求一致
+     */
+    @SuppressWarnings("serial")
+    private Object value;
+
+    /**
+     * 加载耗时（毫秒）
+     */
+    private long computeMs;
+
+    /**
+     * 过期时刻（毫秒时间戳）
+     */
+    private long expireAt;
+
+    public CacheEnvelope() {
+    }
+
+    public CacheEnvelope(Object value, long computeMs, long expireAt) {
+        this.value = value;
+        this.computeMs = computeMs;
+        this.expireAt = expireAt;
+    }
+
+    /**
+     * 判断是否需要提前刷新
+     * XFetch算法：now - computeMs * beta * ln(random) >= expireAt 时刷新，
+     * 越接近过期、重建成本越高，刷新概率越大
+     * @param beta 提前程度系数，大于1时倾向更早刷新
+     * @return 是否提前刷新
+     */
+    public boolean shouldRefreshEarly(double beta) {
+        if (beta <= 0 || expireAt <= 0) {
+            return false;
+        }
+        // 取(0,1]区间的随机数，避免ln(0)
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gap = computeMs * beta * -Math.log(random);
+        return System.currentTimeMillis() + gap >= expireAt;
+    }
+
+    /**
+     * 开启提前刷新时包装缓存值，过期时刻按写入时刻加过期时间计算
+     * @param value 缓存值
+     * @param beta 提前刷新系数
+     * @param computeMs 加载耗时（毫秒）
+     * @param expire 过期时间
+     * @return 包装后的缓存值，未开启、值为空或永不过期时原样返回
+     */
+    public static Object wrap(Object value, double beta, long computeMs, String expire) {
+        if (beta <= 0 || value == null || expire == null || expire.isEmpty()) {
+            return value;
+        }
+        long expireMs = TimeUtil.parseTimeToMillis(expire);
+        return expireMs > 0 ? new CacheEnvelope(value, computeMs, System.currentTimeMillis() + expireMs) : value;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getComputeMs() {
+        return computeMs;
+    }
+
+    public long getExpireAt() {
+        return expireAt;
+    }
+}
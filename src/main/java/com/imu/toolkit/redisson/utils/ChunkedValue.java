@@ -0,0 +1,59 @@
+package com.imu.toolkit.redisson.utils;
+
+import java.io.Serializable;
+
+/**
+ * 分片存储的大值清单
+ * 缓存键下只保存清单，序列化后的值按固定大小切分，保存在 缓存键:chunk:版本:序号 中；
+ * 每次写入使用新的版本，读取方按清单中的版本读取分片，不会读到两次写入混合的结果
+ */
+public class ChunkedValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 写入版本
+     */
+    private String version;
+
+    /**
+     * 分片数量
+     */
+    private int chunkCount;
+
+    /**
+     * 序列化后的总字节数
+     */
+    private int size;
+
+    public ChunkedValue() {
+    }
+
+    public ChunkedValue(String version, int chunkCount, int size) {
+        this.version = version;
+        this.chunkCount = chunkCount;
+        this.size = size;
+    }
+
+    /**
+     * 获取分片键
+     * @param key 缓存键
+     * @param index 分片序号
+     * @return 分片键
+     */
+    public String chunkKey(String key, int index) {
+        return key + ":chunk:" + version + ":" + index;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,33 @@
+package com.imu.toolkit.redisson.utils;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 规范化列表缓存值
+ * 列表查询的缓存键下只保存有序的实体ID，实体本身保存在各自的实体缓存键中，
+ * 读取时通过一次批量读取还原列表
+ */
+public class EntityIdList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 有序的实体ID，null元素原样保留
+     * ID由entityId表达式计算，类型不固定，无法声明为可序列化类型；
+     * 使用JDK序列化的编解码器时，ID类型需自行实现Serializable（常见的Long、String均已实现）
+     */
+    @SuppressWarnings("serial")
+    private List<Object> ids;
+
+    public EntityIdList() {
+    }
+
+    public EntityIdList(List<Object> ids) {
+        this.ids = ids;
+    }
+
+    public List<Object> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,204 @@
+package com.imu.toolkit.redisson.utils;
+
+import com.imu.toolkit.redisson.annotation.AddCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 规范化列表缓存
+ * 写入时把方法返回的实体集合拆分为有序的ID列表和逐个实体缓存，先批量写入实体，再由调用方写入ID列表；
+ * 读取时一次批量读取所有实体还原集合，只有缺失的实体通过 {@link AddCache#entityLoader()} 加载，
+ * 无法补齐时按缓存未命中处理；实体按 {@link AddCache#maxSize()} 检查大小，超过上限的实体不写入，还原时按缺失处理
+ */
+@Component
+public class EntityListCache implements ApplicationContextAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityListCache.class);
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 实体ID表达式缓存，每个实体都要计算一次，避免重复解析
+     */
+    private final Map<String, Expression> idExpressions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RCache rCache;
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * 是否开启规范化列表缓存
+     * @param annotation 注解
+     * @return 是否开启
+     */
+    public static boolean isEnabled(AddCache annotation) {
+        return !annotation.entityKey().isEmpty();
+    }
+
+    /**
+     * 拆分实体集合并批量写入实体缓存
+     * 返回值不是集合、方法返回类型无法由List或Set还原或存在ID为空的实体时原样返回，按普通缓存写入
+     * @param method 方法
+     * @param annotation 注解
+     * @param value 方法返回值
+     * @param expire 列表过期时间，实体未单独设置过期时间时使用
+     * @param expireRange 过期时间随机抖动范围
+     * @return 列表缓存键下写入的值
+     */
+    public Object normalize(Method method, AddCache annotation, Object value, String expire, String expireRange) {
+        if (!(value instanceof Collection<?> collection) || newCollection(method, 0) == null) {
+            return value;
+        }
+        List<Object> ids = new ArrayList<>(collection.size());
+        Map<String, Object> entities = new LinkedHashMap<>();
+        for (Object entity : collection) {
+            if (entity == null) {
+                ids.add(null);
+                continue;
+            }
+            Object id = entityId(annotation, entity);
+            if (id == null) {
+                logger.warn("实体ID为空，按普通缓存写入: {}", AspectUtil.getMethodFullPath(method));
+                return value;
+            }
+            ids.add(id);
+            entities.put(annotation.entityKey() + id, entity);
+        }
+        rCache.setAll(entities, entityExpire(annotation, expire), expireRange, annotation.warnSize(), annotation.maxSize());
+        return new EntityIdList(ids);
+    }
+
+    /**
+     * 按ID列表还原实体集合
+     * @param target 目标对象
+     * @param method 方法
+     * @param args 方法参数
+     * @param annotation 注解
+     * @param idList ID列表
+     * @param expire 列表过期时间，写入加载的缺失实体时使用
+     * @param expireRange 过期时间随机抖动范围
+     * @return 实体集合，有实体无法补齐时返回null
+     */
+    public Collection<Object> hydrate(Object target, Method method, Object[] args, AddCache annotation,
+                                      EntityIdList idList, String expire, String expireRange) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Object id : idList.getIds()) {
+            if (id != null) {
+                keys.add(annotation.entityKey() + id);
+            }
+        }
+        Map<String, Object> entities = rCache.getAll(keys);
+        if (entities.size() < keys.size()) {
+            if (annotation.entityLoader().isEmpty()) {
+                return null;
+            }
+            List<Object> missingIds = new ArrayList<>();
+            Set<Object> seen = new LinkedHashSet<>();
+            for (Object id : idList.getIds()) {
+                if (id != null && !entities.containsKey(annotation.entityKey() + id) && seen.add(id)) {
+                    missingIds.add(id);
+                }
+            }
+            Map<String, Object> loaded = loadEntities(target, method, args, annotation, missingIds);
+            rCache.setAll(loaded, entityExpire(annotation, expire), expireRange, annotation.warnSize(), annotation.maxSize());
+            entities.putAll(loaded);
+            if (!entities.keySet().containsAll(keys)) {
+                logger.debug("缺失实体未能全部加载，重新加载列表: {} {}", AspectUtil.getMethodFullPath(method), missingIds);
+                return null;
+            }
+        }
+        Collection<Object> result = newCollection(method, idList.getIds().size());
+        for (Object id : idList.getIds()) {
+            result.add(id == null ? null : entities.get(annotation.entityKey() + id));
+        }
+        return result;
+    }
+
+    /**
+     * 通过加载表达式加载缺失的实体
+     * @return 实体缓存键到实体的映射
+     */
+    private Map<String, Object> loadEntities(Object target, Method method, Object[] args, AddCache annotation,
+                                             List<Object> missingIds) {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(target, method, args, PARAMETER_NAME_DISCOVERER);
+        context.setVariable("ids", missingIds);
+        if (applicationContext != null) {
+            context.setBeanResolver(new BeanFactoryResolver(applicationContext));
+        }
+        Object value = PARSER.parseExpression(annotation.entityLoader()).getValue(context);
+
+        Iterable<?> loaded;
+        if (value == null) {
+            loaded = List.of();
+        } else if (value instanceof Map<?, ?> map) {
+            loaded = map.values();
+        } else if (value instanceof Object[] array) {
+            loaded = Arrays.asList(array);
+        } else if (value instanceof Iterable<?> iterable) {
+            loaded = iterable;
+        } else {
+            loaded = List.of(value);
+        }
+        Map<String, Object> entities = new LinkedHashMap<>();
+        for (Object entity : loaded) {
+            Object id = entity != null ? entityId(annotation, entity) : null;
+            if (id != null) {
+                entities.put(annotation.entityKey() + id, entity);
+            }
+        }
+        return entities;
+    }
+
+    private Object entityId(AddCache annotation, Object entity) {
+        return idExpressions.computeIfAbsent(annotation.entityId(), PARSER::parseExpression).getValue(entity);
+    }
+
+    private static String entityExpire(AddCache annotation, String expire) {
+        return annotation.entityExpire().isEmpty() ? expire : annotation.entityExpire();
+    }
+
+    /**
+     * 按方法返回类型创建还原用的集合，List、Collection等使用ArrayList，Set使用LinkedHashSet保持顺序
+     * @return 集合，返回类型无法由两者赋值时返回null
+     */
+    private static Collection<Object> newCollection(Method method, int size) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>(size);
+        }
+        if (returnType.isAssignableFrom(LinkedHashSet.class)) {
+            return new LinkedHashSet<>();
+        }
+        return null;
+    }
+}
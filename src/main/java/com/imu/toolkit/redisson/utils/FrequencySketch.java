@@ -0,0 +1,112 @@
+package com.imu.toolkit.redisson.utils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 访问频率草图
+ * 基于Count-Min Sketch的本地访问频率估计，内存占用固定，与键的数量无关
+ * 每个计数器上限为 {@link #MAX_FREQUENCY}，累计访问次数达到采样上限（宽度的10倍）后所有计数器和累计次数减半，
+ * 使频率估计随时间衰减，反映近期的访问热度
+ * <p>
+ * 宽度应不小于活跃键的数量，否则大量键共用计数器，所有键的频率估计趋于相同
+ */
+public class FrequencySketch {
+
+    /**
+     * 单个计数器的频率上限
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    /**
+     * 每行计数器数量上限，4行共占用16MB
+     */
+    private static final int MAX_WIDTH = 1 << 20;
+
+    private static final int DEPTH = 4;
+
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final AtomicIntegerArray counters;
+
+    private final int widthMask;
+
+    private final long sampleSize;
+
+    private final AtomicLong additions = new AtomicLong();
+
+    /**
+     * 同一时刻只有一个线程执行减半
+     */
+    private final AtomicBoolean resetting = new AtomicBoolean();
+
+    /**
+     * @param width 每行计数器数量，取预期的活跃键数量，会向上取整为2的幂，上限 {@link #MAX_WIDTH}
+     */
+    public FrequencySketch(int width) {
+        int actualWidth = Math.max(16, Integer.highestOneBit(Math.min(Math.max(width, 2), MAX_WIDTH) - 1) << 1);
+        this.counters = new AtomicIntegerArray(actualWidth * DEPTH);
+        this.widthMask = actualWidth - 1;
+        this.sampleSize = actualWidth * 10L;
+    }
+
+    /**
+     * 记录一次访问
+     * @param key 键
+     */
+    public void increment(String key) {
+        int hash = key.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            int current;
+            do {
+                current = counters.get(index);
+                if (current >= MAX_FREQUENCY) {
+                    break;
+                }
+            } while (!counters.compareAndSet(index, current, current + 1));
+        }
+        if (additions.incrementAndGet() >= sampleSize && resetting.compareAndSet(false, true)) {
+            try {
+                reset();
+            } finally {
+                resetting.set(false);
+            }
+        }
+    }
+
+    /**
+     * 估计访问频率
+     * @param key 键
+     * @return 频率估计值，范围 0 ~ {@link #MAX_FREQUENCY}
+     */
+    public int frequency(String key) {
+        int hash = key.hashCode();
+        int min = MAX_FREQUENCY;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counters.get(indexOf(hash, row)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有计数器减半，实现频率衰减
+     * 累计次数同样减半而不是清零，减半期间其他线程的访问仍然计入，不会在一个周期内触发两次减半
+     */
+    private void reset() {
+        additions.addAndGet(-sampleSize / 2);
+        for (int i = 0; i < counters.length(); i++) {
+            int current;
+            do {
+                current = counters.get(i);
+            } while (!counters.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B1;
+        h ^= h >>> 16;
+        return row * (widthMask + 1) + (h & widthMask);
+    }
+}
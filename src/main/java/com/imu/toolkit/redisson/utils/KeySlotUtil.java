@@ -0,0 +1,149 @@
+package com.imu.toolkit.redisson.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis Cluster槽位工具类
+ * 本地计算键所属槽位（CRC16 % 16384，遵循hash tag规则），避免额外的网络往返
+ */
+public class KeySlotUtil {
+
+    /**
+     * Redis Cluster槽位总数
+     */
+    public static final int SLOT_COUNT = 16384;
+
+    /**
+     * 为副本寻找未占用槽位的最大尝试次数
+     */
+    private static final int MAX_REPLICA_PROBES = 64;
+
+    private static final int[] CRC16_TABLE = new int[256];
+
+    static {
+        // CRC16-CCITT (XMODEM)，多项式0x1021
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            CRC16_TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    /**
+     * 为键添加hash tag，使同一键派生出的互斥锁、元数据等键落在同一槽位
+     * 键中已包含有效hash tag时保持不变
+     * @param key 原始键
+     * @return 带hash tag的键
+     */
+    public static String applyHashTag(String key) {
+        if (hasHashTag(key)) {
+            return key;
+        }
+        return "{" + key + "}";
+    }
+
+    /**
+     * 计算键所属槽位
+     * @param key 键
+     * @return 槽位编号
+     */
+    public static int calcSlot(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int end = bytes.length;
+
+        // 存在非空hash tag时只计算第一个{}中的内容
+        int open = indexOf(bytes, (byte) '{', 0);
+        if (open >= 0) {
+            int close = indexOf(bytes, (byte) '}', open + 1);
+            if (close > open + 1) {
+                start = open + 1;
+                end = close;
+            }
+        }
+
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = ((crc << 8) ^ CRC16_TABLE[((crc >>> 8) ^ bytes[i]) & 0xFF]) & 0xFFFF;
+        }
+        return crc % SLOT_COUNT;
+    }
+
+    /**
+     * 按槽位对键分组，保持键的原始相对顺序
+     * @param keys 键列表
+     * @return 槽位到键列表的映射
+     */
+    public static Map<Integer, List<String>> groupBySlot(Collection<String> keys) {
+        Map<Integer, List<String>> groups = new LinkedHashMap<>();
+        for (String key : keys) {
+            groups.computeIfAbsent(calcSlot(key), slot -> new ArrayList<>()).add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * 生成热点键的副本键
+     * 第0个副本为原始键，其余副本在原始键（存在hash tag时为hash tag内容）后追加 :r序号 后缀，
+     * 后缀与已生成副本的槽位冲突时继续追加探测序号，使各副本尽量落在不同槽位；结果只取决于原始键，各节点一致
+     * @param key 原始键
+     * @param replicas 副本数，小于等于1时只返回原始键
+     * @return 副本键列表
+     */
+    public static List<String> replicaKeys(String key, int replicas) {
+        List<String> keys = new ArrayList<>(Math.max(1, replicas));
+        keys.add(key);
+        Set<Integer> usedSlots = new HashSet<>();
+        usedSlots.add(calcSlot(key));
+        for (int i = 1; i < replicas; i++) {
+            String candidate = replicaKey(key, ":r" + i);
+            for (int probe = 1; probe < MAX_REPLICA_PROBES && usedSlots.contains(calcSlot(candidate)); probe++) {
+                candidate = replicaKey(key, ":r" + i + "." + probe);
+            }
+            usedSlots.add(calcSlot(candidate));
+            keys.add(candidate);
+        }
+        return keys;
+    }
+
+    /**
+     * 为键追加副本后缀，存在hash tag时追加到hash tag内部，否则追加到键末尾
+     */
+    private static String replicaKey(String key, String suffix) {
+        int open = key.indexOf('{');
+        if (open >= 0) {
+            int close = key.indexOf('}', open + 1);
+            if (close > open + 1) {
+                return key.substring(0, close) + suffix + key.substring(close);
+            }
+        }
+        return key + suffix;
+    }
+
+    private static boolean hasHashTag(String key) {
+        int open = key.indexOf('{');
+        if (open < 0) {
+            return false;
+        }
+        int close = key.indexOf('}', open + 1);
+        return close > open + 1;
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
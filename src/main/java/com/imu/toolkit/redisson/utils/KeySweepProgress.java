@@ -0,0 +1,12 @@
+package com.imu.toolkit.redisson.utils;
+
+/**
+ * 批量键操作进度
+ * 每处理完一页键回调一次，任务结束时done为true
+ * @param scanned 已扫描的键数量
+ * @param affected 已生效的键数量（删除、设置过期或计数）
+ * @param elapsedMs 已耗时（毫秒）
+ * @param done 是否已结束
+ */
+public record KeySweepProgress(long scanned, long affected, long elapsedMs, boolean done) {
+}
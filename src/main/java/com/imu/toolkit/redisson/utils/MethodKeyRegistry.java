@@ -0,0 +1,149 @@
+package com.imu.toolkit.redisson.utils;
+
+import com.imu.toolkit.redisson.annotation.KeyAlias;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 方法键注册表
+ * 注解的key为空或使用默认前缀时，键中需要嵌入方法标识。默认使用完整的包名+类名+方法名；
+ * 开启紧凑键后改为 ~ 加方法路径SHA-256的前48位（8个Base64URL字符），或 ~ 加 {@link KeyAlias} 声明的别名，
+ * 例如 lock:com.company.service.OrderService.submit:123 变为 lock:~Q2xhc3NB:123
+ * <p>
+ * 短键只取决于方法路径，各节点一致；注册表同时保存短键到方法路径的反向映射，用于排查时还原
+ */
+public class MethodKeyRegistry {
+
+    /**
+     * 紧凑键标记，便于从完整的Redis键中识别方法短键
+     */
+    public static final char COMPACT_MARKER = '~';
+
+    /**
+     * 短哈希字节数，8个Base64URL字符
+     */
+    private static final int HASH_BYTES = 6;
+
+    private static volatile boolean compact = false;
+
+    private static final Map<Method, String> METHOD_KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * 短键到方法路径的反向映射
+     */
+    private static final Map<String, String> SHORT_KEYS = new ConcurrentHashMap<>();
+
+    private MethodKeyRegistry() {
+    }
+
+    /**
+     * 设置是否使用紧凑键，由 {@link MethodKeyVerifier} 在启动时根据配置设置
+     * @param enabled 是否开启
+     */
+    public static void setCompact(boolean enabled) {
+        if (compact != enabled) {
+            METHOD_KEYS.clear();
+        }
+        compact = enabled;
+    }
+
+    /**
+     * 是否使用紧凑键
+     */
+    public static boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * 获取方法在键中的标识
+     * @param method 方法
+     * @return 未开启紧凑键时为完整方法路径，否则为短键
+     */
+    public static String keyOf(Method method) {
+        if (!compact) {
+            return AspectUtil.getMethodFullPath(method);
+        }
+        return METHOD_KEYS.computeIfAbsent(method, m -> {
+            String shortKey = shortKeyOf(m);
+            register(shortKey, AspectUtil.getMethodFullPath(m));
+            return shortKey;
+        });
+    }
+
+    /**
+     * 计算方法的短键，不注册
+     * @param method 方法
+     * @return 短键
+     */
+    public static String shortKeyOf(Method method) {
+        KeyAlias alias = method.getAnnotation(KeyAlias.class);
+        if (alias != null) {
+            validateAlias(alias.value(), method);
+            return COMPACT_MARKER + alias.value();
+        }
+        return COMPACT_MARKER + hash(AspectUtil.getMethodFullPath(method));
+    }
+
+    /**
+     * 注册短键，同一短键已对应其他方法路径时抛出异常
+     * 重载方法路径相同，共用一个短键
+     * @param shortKey 短键
+     * @param methodPath 方法路径
+     */
+    static void register(String shortKey, String methodPath) {
+        String existing = SHORT_KEYS.putIfAbsent(shortKey, methodPath);
+        if (existing != null && !existing.equals(methodPath)) {
+            throw new IllegalStateException("compact key collision: " + shortKey + " is used by both "
+                    + existing + " and " + methodPath + ", declare @KeyAlias on one of them");
+        }
+    }
+
+    /**
+     * 还原短键对应的方法路径
+     * @param key 短键（如 ~Q2xhc3NB），或包含短键的完整Redis键（如 lock:~Q2xhc3NB:123）
+     * @return 方法路径，未找到时返回null
+     */
+    public static String resolve(String key) {
+        int start = key.indexOf(COMPACT_MARKER);
+        if (start < 0) {
+            return null;
+        }
+        int end = start + 1;
+        while (end < key.length() && key.charAt(end) != ':' && key.charAt(end) != '}') {
+            end++;
+        }
+        return SHORT_KEYS.get(key.substring(start, end));
+    }
+
+    /**
+     * 获取所有已注册的短键与方法路径，按短键排序，用于管理端查询
+     * @return 短键到方法路径的映射
+     */
+    public static Map<String, String> getMappings() {
+        return new TreeMap<>(SHORT_KEYS);
+    }
+
+    private static String hash(String methodPath) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(methodPath.getBytes(StandardCharsets.UTF_8));
+            byte[] prefix = new byte[HASH_BYTES];
+            System.arraycopy(digest, 0, prefix, 0, HASH_BYTES);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(prefix);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void validateAlias(String alias, Method method) {
+        if (alias.isEmpty() || alias.chars().anyMatch(c -> c == ':' || c == '{' || c == '}' || Character.isWhitespace(c))) {
+            throw new IllegalStateException("invalid @KeyAlias \"" + alias + "\" on " + AspectUtil.getMethodFullPath(method));
+        }
+    }
+}
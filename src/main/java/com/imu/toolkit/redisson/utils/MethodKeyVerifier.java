@@ -0,0 +1,67 @@
+package com.imu.toolkit.redisson.utils;
+
+import com.imu.toolkit.redisson.annotation.KeyAlias;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * 紧凑键启动检查
+ * 根据 imu.redisson.key.compact 配置开启紧凑键，并在所有单例初始化完成后扫描容器中使用本工具包注解的方法，
+ * 预先注册短键；不同方法的短键冲突或别名不合法时启动失败，避免两个方法静默共用缓存、锁或限流键
+ */
+@Component
+public class MethodKeyVerifier implements InitializingBean, SmartInitializingSingleton, ApplicationContextAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodKeyVerifier.class);
+
+    private static final String ANNOTATION_PACKAGE = KeyAlias.class.getPackageName();
+
+    @Value("${imu.redisson.key.compact:false}")
+    private boolean compact;
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 尽早设置，使其他单例初始化期间生成的键也使用同一方案
+        MethodKeyRegistry.setCompact(compact);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!compact) {
+            return;
+        }
+        Set<Method> methods = AnnotatedMethodScanner.scan(applicationContext, MethodKeyVerifier::usesToolkitAnnotation);
+        int registered = 0;
+        for (Method method : methods) {
+            MethodKeyRegistry.keyOf(method);
+            registered++;
+        }
+        logger.info("紧凑键已开启，注册方法短键: {}", registered);
+    }
+
+    private static boolean usesToolkitAnnotation(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation.annotationType().getPackageName().equals(ANNOTATION_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,61 +1,452 @@
 package com.imu.toolkit.redisson.utils;
 
+import com.imu.toolkit.redisson.backend.BackendLock;
+import com.imu.toolkit.redisson.backend.BackendRateLimiter;
+import com.imu.toolkit.redisson.backend.BackendSemaphore;
+import com.imu.toolkit.redisson.backend.CacheBackend;
+import com.imu.toolkit.redisson.backend.CircuitBreaker;
+import com.imu.toolkit.redisson.backend.CircuitBreakerCacheBackend;
+import com.imu.toolkit.redisson.backend.DelegatingCacheBackend;
+import com.imu.toolkit.redisson.backend.RedissonCacheBackend;
 import com.imu.toolkit.redisson.constant.RedissonToolkitConstant;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
-import org.redisson.api.RKeys;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
 import org.redisson.api.RLock;
 import org.redisson.api.RMap;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RMapCacheAsync;
+import org.redisson.api.RScript;
+import org.redisson.api.RScriptAsync;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.options.KeysScanOptions;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.codec.CompositeCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * 基于Redisson的精简缓存工具类
  * 聚焦核心KV和Map操作，提供语义化的API
+ * <p>
+ * 核心KV、哈希、锁、限流和发布订阅通过 {@link CacheBackend} 访问，可切换为内存后端；
+ * 模式扫描、缓存区域等Redis专有能力需要Redisson后端，其他后端调用时抛出UnsupportedOperationException
+ * <p>
+ * 大值保护（仅Redisson后端）：
+ * imu.redisson.large-value.warn-size 序列化后超过该大小时记录警告；
+ * imu.redisson.large-value.max-size 序列化后超过该大小时拒绝写入，抛出 {@link ValueTooLargeException}；
+ * imu.redisson.large-value.chunk-threshold 带过期时间的缓存值序列化后超过该大小时分片存储；
+ * imu.redisson.large-value.chunk-size 单个分片大小，默认256KB；
+ * 以上阈值默认均不开启，开启后值只序列化一次，按序列化结果直接写入。
+ * 所有写入都检查大小；分片存储只用于指定大小阈值的单键写入和批量写入，热点键副本和缓存区域条目不分片，
+ * 不指定大小阈值的通用写入（如防重复提交标记）同样不分片，不会产生清单，直接写入存储后端；
+ * 开启分片存储后，缓存写入、批量写入和删除会取回被覆盖或删除的清单并回收其分片
  */
 @Component
 public class RCache {
 
+    private static final Logger logger = LoggerFactory.getLogger(RCache.class);
+
+    /**
+     * 分片比清单多保留的时间（毫秒），清单到期前读取到它的读取方仍能读全分片
+     */
+    private static final long CHUNK_TTL_GRACE_MS = 10_000;
+
+    /**
+     * 分片清单序列化后的大小上限，覆盖或删除时只取回不超过该大小的旧值，避免取回大值本身
+     */
+    private static final long MANIFEST_MAX_BYTES = 1024;
+
+    /**
+     * 写入并取回可能是分片清单的旧值
+     * ARGV: 1.新值 2.过期时间(ms)，-1表示永不过期 3.取回旧值的大小上限
+     */
+    private static final String SWAP_SCRIPT = """
+            local old
+            if redis.call('TYPE', KEYS[1]).ok == 'string' then
+                old = redis.call('GET', KEYS[1])
+            end
+            if tonumber(ARGV[2]) > 0 then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            else
+                redis.call('SET', KEYS[1], ARGV[1])
+            end
+            if old and string.len(old) <= tonumber(ARGV[3]) then
+                return old
+            end
+            return nil
+            """;
+
+    /**
+     * 删除并取回可能是分片清单的旧值
+     * ARGV: 1.删除命令(DEL/UNLINK) 2.取回旧值的大小上限
+     */
+    private static final String REMOVE_SCRIPT = """
+            local old
+            if redis.call('TYPE', KEYS[1]).ok == 'string' then
+                old = redis.call('GET', KEYS[1])
+            end
+            local removed = redis.call(ARGV[1], KEYS[1])
+            if old and string.len(old) <= tonumber(ARGV[2]) then
+                return {removed, old}
+            end
+            return {removed}
+            """;
+
+    /**
+     * 批量键操作执行器，每个任务一个虚拟线程
+     */
+    private static final ExecutorService SWEEP_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CacheBackend backend;
+
+    /**
+     * Redisson客户端，非Redisson后端时为null
+     */
     private final RedissonClient redissonClient;
-    
+
+    /**
+     * 熔断保护后端，未开启降级时为null
+     */
+    private final CircuitBreakerCacheBackend breakerBackend;
+
+    private long warnSizeBytes;
+
+    private long maxSizeBytes;
+
+    private long chunkThresholdBytes;
+
+    private int chunkSizeBytes = (int) DataSize.ofKilobytes(256).toBytes();
+
     @Autowired
+    public RCache(CacheBackend backend) {
+        this.backend = backend;
+        RedissonCacheBackend redissonBackend = DelegatingCacheBackend.find(backend, RedissonCacheBackend.class);
+        this.redissonClient = redissonBackend != null ? redissonBackend.getRedissonClient() : null;
+        this.breakerBackend = DelegatingCacheBackend.find(backend, CircuitBreakerCacheBackend.class);
+    }
+
     public RCache(RedissonClient redissonClient) {
-        this.redissonClient = redissonClient;
+        this(new RedissonCacheBackend(redissonClient));
+    }
+
+    @Value("${imu.redisson.large-value.warn-size:}")
+    public void setWarnSize(String warnSize) {
+        this.warnSizeBytes = parseSize(warnSize);
+    }
+
+    @Value("${imu.redisson.large-value.max-size:}")
+    public void setMaxSize(String maxSize) {
+        this.maxSizeBytes = parseSize(maxSize);
+    }
+
+    @Value("${imu.redisson.large-value.chunk-threshold:}")
+    public void setChunkThreshold(String chunkThreshold) {
+        this.chunkThresholdBytes = parseSize(chunkThreshold);
+    }
+
+    @Value("${imu.redisson.large-value.chunk-size:256KB}")
+    public void setChunkSize(String chunkSize) {
+        long bytes = parseSize(chunkSize);
+        if (bytes <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid imu.redisson.large-value.chunk-size: " + chunkSize);
+        }
+        this.chunkSizeBytes = (int) bytes;
+    }
+
+    /**
+     * 获取存储后端
+     * @return 存储后端
+     */
+    public CacheBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * 获取Redisson客户端
+     * @return Redisson客户端，非Redisson后端时返回null
+     */
+    public RedissonClient getRedissonClient() {
+        return redissonClient;
+    }
+
+    /**
+     * 获取存储后端熔断器
+     * @return 熔断器，未开启降级时返回null
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return breakerBackend != null ? breakerBackend.getCircuitBreaker() : null;
+    }
+
+    /**
+     * 在熔断保护和延迟预算内执行Redisson专有操作，未开启降级时直接执行
+     * @param operation 操作
+     * @param <T> 返回类型
+     * @return 操作结果
+     * @throws BackendUnavailableException 熔断器打开、超过延迟预算或存储后端故障时抛出
+     */
+    public <T> T guarded(Supplier<T> operation) {
+        return breakerBackend != null ? breakerBackend.execute(operation::get) : operation.get();
+    }
+
+    private RedissonClient requireRedisson() {
+        if (redissonClient == null) {
+            throw new UnsupportedOperationException("operation requires the redisson backend, current backend: "
+                    + backend.getClass().getSimpleName());
+        }
+        return redissonClient;
     }
     
     /**
      * 获取分布式锁
+     * 仅Redisson后端可用，与后端无关的场景请使用 {@link #getBackendLock(String)}
      * @param lockKey 锁键
      * @return 分布式锁实例
      */
     public RLock getLock(String lockKey) {
-        return redissonClient.getLock(lockKey);
+        return requireRedisson().getLock(lockKey);
+    }
+
+    /**
+     * 获取后端锁
+     * @param lockKey 锁键
+     * @return 后端锁实例
+     */
+    public BackendLock getBackendLock(String lockKey) {
+        return backend.getLock(lockKey);
+    }
+
+    /**
+     * 获取限流器
+     * 按传入的速率检查，同名限流器速率变化时原地生效，保留窗口内已发放的令牌
+     * @param key 限流键
+     * @param limit 时间窗口内允许的请求数
+     * @param windowMs 时间窗口（毫秒）
+     * @return 限流器
+     */
+    public BackendRateLimiter getRateLimiter(String key, long limit, long windowMs) {
+        return backend.getRateLimiter(key, limit, windowMs);
+    }
+
+    /**
+     * 获取许可可过期的信号量
+     * 同名信号量的许可总数只在第一次获取时设置，后续获取会复用之前的配置
+     * @param key 信号量键
+     * @param permits 许可总数
+     * @return 信号量
+     */
+    public BackendSemaphore getSemaphore(String key, int permits) {
+        return backend.getSemaphore(key, permits);
+    }
+
+    // ==================== 发布订阅 ====================
+
+    /**
+     * 发布消息
+     * @param topic 主题
+     * @param message 消息
+     * @return 接收到消息的订阅者数量
+     */
+    public long publish(String topic, Object message) {
+        return backend.publish(topic, message);
+    }
+
+    /**
+     * 订阅主题
+     * @param topic 主题
+     * @param listener 消息监听器
+     * @return 监听器ID，用于取消订阅
+     */
+    public int subscribe(String topic, Consumer<Object> listener) {
+        return backend.subscribe(topic, listener);
+    }
+
+    /**
+     * 取消订阅
+     * @param topic 主题
+     * @param listenerId 监听器ID
+     */
+    public void unsubscribe(String topic, int listenerId) {
+        backend.unsubscribe(topic, listenerId);
     }
     
     /**
      * 根据模式获取所有匹配的键
+     * 大量键时请使用 {@link #scanKeysAsync} 分页限速扫描
      * @param pattern 键模式，支持通配符
      * @return 键迭代器
      */
     public Iterator<String> getKeysByPattern(String pattern) {
-        RKeys keys = redissonClient.getKeys();
-        return keys.getKeysByPattern(pattern).iterator();
+        return requireRedisson().getKeys().getKeysByPattern(pattern).iterator();
     }
     
     /**
      * 批量删除匹配模式的键
+     * 在调用线程上同步执行无限速的扫描和删除，大量键时请使用 {@link #unlinkByPatternAsync}
      * @param pattern 键模式，支持通配符
      * @return 删除成功的数量
      */
     public long deleteByPattern(String pattern) {
-        RKeys keys = redissonClient.getKeys();
-        return keys.deleteByPattern(pattern);
+        return requireRedisson().getKeys().deleteByPattern(pattern);
+    }
+
+    // ==================== 限速批量键操作 ====================
+
+    /**
+     * 异步分页扫描匹配模式的键
+     * 基于SCAN游标逐页读取，按最大速率限速，可通过返回的Future取消
+     * @param pattern 键模式，支持通配符
+     * @param pageSize 每页数量
+     * @param maxKeysPerSecond 每秒最多处理的键数量，小于等于0表示不限速
+     * @param pageConsumer 每页键的消费者
+     * @param progress 进度回调，可为null
+     * @return 扫描到的键总数
+     */
+    public CompletableFuture<Long> scanKeysAsync(String pattern, int pageSize, int maxKeysPerSecond,
+                                                 Consumer<List<String>> pageConsumer, Consumer<KeySweepProgress> progress) {
+        return sweep(pattern, pageSize, maxKeysPerSecond, page -> {
+            pageConsumer.accept(page);
+            return page.size();
+        }, progress);
+    }
+
+    /**
+     * 异步分页非阻塞删除匹配模式的键（UNLINK）
+     * @param pattern 键模式，支持通配符
+     * @param pageSize 每页数量
+     * @param maxKeysPerSecond 每秒最多处理的键数量，小于等于0表示不限速
+     * @param progress 进度回调，可为null
+     * @return 删除的键总数
+     */
+    public CompletableFuture<Long> unlinkByPatternAsync(String pattern, int pageSize, int maxKeysPerSecond,
+                                                        Consumer<KeySweepProgress> progress) {
+        return sweep(pattern, pageSize, maxKeysPerSecond, this::unlink, progress);
+    }
+
+    /**
+     * 异步分页为匹配模式的键设置过期时间
+     * @param pattern 键模式，支持通配符
+     * @param expireTime 过期时间，支持格式：3s, 5m, 1h, -1(永不过期)
+     * @param pageSize 每页数量
+     * @param maxKeysPerSecond 每秒最多处理的键数量，小于等于0表示不限速
+     * @param progress 进度回调，可为null
+     * @return 设置成功的键总数
+     */
+    public CompletableFuture<Long> expireByPatternAsync(String pattern, String expireTime, int pageSize,
+                                                        int maxKeysPerSecond, Consumer<KeySweepProgress> progress) {
+        long expireMs = TimeUtil.parseTimeToMillis(expireTime);
+        RedissonClient client = requireRedisson();
+        return sweep(pattern, pageSize, maxKeysPerSecond, page -> {
+            RBatch batch = client.createBatch(BatchOptions.defaults());
+            List<RFuture<Boolean>> futures = new ArrayList<>();
+            for (String key : page) {
+                RBucketAsync<Object> bucket = batch.getBucket(key);
+                futures.add(expireMs == -1 ? bucket.clearExpireAsync() : bucket.expireAsync(expireMs, TimeUnit.MILLISECONDS));
+            }
+            batch.execute();
+            return futures.stream().filter(future -> Boolean.TRUE.equals(future.toCompletableFuture().join())).count();
+        }, progress);
+    }
+
+    /**
+     * 异步分页统计匹配模式的键数量
+     * @param pattern 键模式，支持通配符
+     * @param pageSize 每页数量
+     * @param maxKeysPerSecond 每秒最多处理的键数量，小于等于0表示不限速
+     * @param progress 进度回调，可为null
+     * @return 匹配的键总数
+     */
+    public CompletableFuture<Long> countByPatternAsync(String pattern, int pageSize, int maxKeysPerSecond,
+                                                       Consumer<KeySweepProgress> progress) {
+        return sweep(pattern, pageSize, maxKeysPerSecond, List::size, progress);
+    }
+
+    /**
+     * 分页扫描并对每页执行操作
+     * 在虚拟线程上执行，每页之间检查取消状态并按速率限制休眠
+     */
+    private CompletableFuture<Long> sweep(String pattern, int pageSize, int maxKeysPerSecond,
+                                          ToLongFunction<List<String>> pageAction, Consumer<KeySweepProgress> progress) {
+        RedissonClient client = requireRedisson();
+        int actualPageSize = Math.max(1, pageSize);
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        SWEEP_EXECUTOR.execute(() -> {
+            long startNanos = System.nanoTime();
+            long scanned = 0;
+            long affected = 0;
+            try {
+                Iterable<String> keys = client.getKeys().getKeys(
+                        KeysScanOptions.defaults().pattern(pattern).chunkSize(actualPageSize));
+                List<String> page = new ArrayList<>(actualPageSize);
+                Iterator<String> iterator = keys.iterator();
+                while (!result.isDone() && iterator.hasNext()) {
+                    page.add(iterator.next());
+                    if (page.size() < actualPageSize && iterator.hasNext()) {
+                        continue;
+                    }
+                    scanned += page.size();
+                    affected += pageAction.applyAsLong(page);
+                    page = new ArrayList<>(actualPageSize);
+
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    if (progress != null) {
+                        progress.accept(new KeySweepProgress(scanned, affected, elapsedMs, false));
+                    }
+                    // 按最大速率计算应耗时，提前完成则休眠补齐
+                    if (maxKeysPerSecond > 0) {
+                        long expectedMs = scanned * 1000 / maxKeysPerSecond;
+                        if (expectedMs > elapsedMs) {
+                            Thread.sleep(expectedMs - elapsedMs);
+                        }
+                    }
+                }
+                if (progress != null) {
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    progress.accept(new KeySweepProgress(scanned, affected, elapsedMs, true));
+                }
+                result.complete(affected);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
     }
 
     // ==================== 核心KV操作 ====================
@@ -66,24 +457,75 @@ public class RCache {
      * @param value 缓存值
      */
     public <V> void set(String key, V value) {
-        RBucket<V> bucket = redissonClient.getBucket(key);
-        bucket.set(value);
+        set(key, value, "-1");
     }
 
     /**
      * 设置缓存并指定过期时间（语义化时间格式）
+     * 开启全局大小阈值时检查大小；通用写入不分片存储，不会产生清单，因此不需要通过脚本取回旧清单，
+     * 检查后直接写入存储后端
      * @param key 缓存键
      * @param value 缓存值
      * @param expireTime 过期时间，支持格式：3s, 5m, 1h, 2day, -1(永不过期)
+     * @throws ValueTooLargeException 序列化后超过全局大小上限
      */
     public <V> void set(String key, V value, String expireTime) {
-        RBucket<V> bucket = redissonClient.getBucket(key);
-        long expireMs = TimeUtil.parseTimeToMillis(expireTime);
-        if (expireMs == -1) {
-            bucket.set(value);
-        } else {
-            bucket.set(value, expireMs, TimeUnit.MILLISECONDS);
+        if (value == null && isChunkingEnabled()) {
+            // 写入null即删除，键可能由缓存写入分片存储过，同样回收旧清单的分片
+            delete(key);
+            return;
+        }
+        if (value != null && redissonClient != null && (warnSizeBytes > 0 || maxSizeBytes > 0)) {
+            encodeChecked(key, value, "", "");
         }
+        backend.set(key, value, TimeUtil.parseTimeToMillis(expireTime));
+    }
+
+    /**
+     * 设置缓存并指定本次写入的大小阈值
+     * 开启大小阈值或分片存储时，值只序列化一次：超过上限时拒绝写入，超过警告大小时记录警告，
+     * 带过期时间且超过分片阈值时分片存储，读取时自动还原
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param expireTime 过期时间，-1表示永不过期
+     * @param warnSize 警告大小，如 512KB，为空时使用全局配置
+     * @param maxSize 大小上限，如 4MB，为空时使用全局配置
+     * @throws ValueTooLargeException 序列化后超过大小上限
+     */
+    public <V> void set(String key, V value, String expireTime, String warnSize, String maxSize) {
+        long ttlMs = TimeUtil.parseTimeToMillis(expireTime);
+        if (value == null && isChunkingEnabled()) {
+            // 写入null即删除，同样回收旧清单的分片
+            delete(key);
+            return;
+        }
+        if (value == null || !isSizeChecked(warnSize, maxSize)) {
+            backend.set(key, value, ttlMs);
+            return;
+        }
+        byte[] bytes = encodeChecked(key, value, warnSize, maxSize);
+        if (isChunked(bytes, ttlMs)) {
+            setChunked(key, bytes, ttlMs);
+            return;
+        }
+        if (isChunkingEnabled()) {
+            // 可能覆盖分片清单，写入时取回旧清单并回收其分片
+            swapAll(Map.of(key, bytes), Map.of(key, ttlMs));
+            return;
+        }
+        writeAll(Map.of(key, bytes), Map.of(key, ttlMs));
+    }
+
+    /**
+     * 缓存写入是否需要先序列化检查大小
+     * @param warnSize 警告大小，为空时使用全局配置
+     * @param maxSize 大小上限，为空时使用全局配置
+     * @return 是否开启大小阈值或分片存储
+     */
+    public boolean isSizeChecked(String warnSize, String maxSize) {
+        return redissonClient != null && (chunkThresholdBytes > 0
+                || (warnSize.isEmpty() ? warnSizeBytes : parseSize(warnSize)) > 0
+                || (maxSize.isEmpty() ? maxSizeBytes : parseSize(maxSize)) > 0);
     }
 
     /**
@@ -92,16 +534,28 @@ public class RCache {
      * @param <T> 返回类型
      * @return 缓存值
      */
-    @SuppressWarnings("unchecked")
     public <T> T get(String key) {
-        RBucket<T> bucket = redissonClient.getBucket(key);
-        T value = bucket.get();
-        
+        T value = backend.get(key);
+
         // 处理空值标记，防止缓存穿透
         if (RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value)) {
             return null;
         }
-        return value;
+        return resolveChunked(key, value);
+    }
+
+    /**
+     * 从从节点读取缓存，可能读到复制延迟内的旧值
+     * @param key 缓存键
+     * @param <T> 返回类型
+     * @return 缓存值
+     */
+    public <T> T getFromReplicaNode(String key) {
+        T value = backend.getFromReplicaNode(key);
+        if (RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value)) {
+            return null;
+        }
+        return resolveChunked(key, value);
     }
 
     /**
@@ -110,16 +564,36 @@ public class RCache {
      * @return 是否删除成功
      */
     public boolean delete(String key) {
-        return redissonClient.getBucket(key).delete();
+        if (isChunkingEnabled()) {
+            return removeAll(List.of(key), false) > 0;
+        }
+        return backend.delete(key);
     }
 
     /**
      * 批量删除缓存
+     * 集群模式下按槽位分组后通过管道发送，避免跨槽位多键命令的逐个扇出
      * @param keys 缓存键列表
      * @return 删除成功的数量
      */
     public long delete(Collection<String> keys) {
-        return redissonClient.getKeys().delete(keys.toArray(new String[0]));
+        if (isChunkingEnabled()) {
+            return removeAll(keys, false);
+        }
+        return backend.delete(keys);
+    }
+
+    /**
+     * 批量非阻塞删除缓存（UNLINK），由Redis后台线程回收内存
+     * 集群模式下按槽位分组后通过管道发送
+     * @param keys 缓存键列表
+     * @return 删除成功的数量
+     */
+    public long unlink(Collection<String> keys) {
+        if (isChunkingEnabled()) {
+            return removeAll(keys, true);
+        }
+        return backend.unlink(keys);
     }
 
     /**
@@ -128,7 +602,7 @@ public class RCache {
      * @return 是否存在
      */
     public boolean exists(String key) {
-        return redissonClient.getBucket(key).isExists();
+        return backend.exists(key);
     }
 
     /**
@@ -138,12 +612,7 @@ public class RCache {
      * @return 是否设置成功
      */
     public boolean expire(String key, String expireTime) {
-        long expireMs = TimeUtil.parseTimeToMillis(expireTime);
-        if (expireMs == -1) {
-            // 永不过期：移除过期时间
-            return redissonClient.getBucket(key).clearExpire();
-        }
-        return redissonClient.getBucket(key).expire(expireMs, TimeUnit.MILLISECONDS);
+        return backend.expire(key, TimeUtil.parseTimeToMillis(expireTime));
     }
 
     /**
@@ -152,7 +621,450 @@ public class RCache {
      * @return 剩余过期时间，-1表示永不过期，-2表示不存在
      */
     public long remainTimeToLive(String key) {
-        return redissonClient.getBucket(key).remainTimeToLive();
+        return backend.remainTimeToLive(key);
+    }
+
+    // ==================== 批量操作 ====================
+
+    /**
+     * 批量获取缓存，Redisson后端使用一次MGET完成，空值标记视为不存在
+     * @param keys 缓存键列表
+     * @param <T> 值类型
+     * @return 已存在的缓存键值映射
+     */
+    public <T> Map<String, T> getAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, T> values = new HashMap<>(backend.getAll(keys));
+        values.values().removeIf(RedissonToolkitConstant.NULL_VALUE_MARKER::equals);
+        values.replaceAll(this::resolveChunked);
+        values.values().removeIf(value -> value == null);
+        return values;
+    }
+
+    /**
+     * 批量检查缓存是否存在，Redisson后端使用管道一次往返完成
+     * @param keys 缓存键列表
+     * @return 已存在的缓存键
+     */
+    public Set<String> existingKeys(Collection<String> keys) {
+        Set<String> existing = new HashSet<>();
+        if (keys.isEmpty()) {
+            return existing;
+        }
+        if (redissonClient == null) {
+            for (String key : keys) {
+                if (backend.exists(key)) {
+                    existing.add(key);
+                }
+            }
+            return existing;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        Map<String, RFuture<Boolean>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            futures.put(key, batch.getBucket(key).isExistsAsync());
+        }
+        guarded(batch::execute);
+        futures.forEach((key, future) -> {
+            if (Boolean.TRUE.equals(future.toCompletableFuture().join())) {
+                existing.add(key);
+            }
+        });
+        return existing;
+    }
+
+    /**
+     * 批量设置缓存，Redisson后端使用管道一次往返完成，每个键独立计算随机抖动的过期时间
+     * @param values 缓存键值映射
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param expireRange 防雪崩时间浮动范围
+     */
+    public <V> void setAll(Map<String, V> values, String expireTime, String expireRange) {
+        setAll(values, expireTime, expireRange, "", "");
+    }
+
+    /**
+     * 批量设置缓存并指定本次写入的大小阈值，每个键独立计算随机抖动的过期时间
+     * 开启大小阈值或分片存储时每个值只序列化一次，超过分片阈值的值分片存储，其余在一个管道批次中写入；
+     * 超过上限的键不写入，同时删除旧值，避免继续读取到旧值
+     * @param values 缓存键值映射
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param expireRange 防雪崩时间浮动范围
+     * @param warnSize 警告大小，为空时使用全局配置
+     * @param maxSize 大小上限，为空时使用全局配置
+     * @return 超过大小上限未写入的键
+     */
+    public <V> Set<String> setAll(Map<String, V> values, String expireTime, String expireRange,
+                                  String warnSize, String maxSize) {
+        Set<String> rejected = new LinkedHashSet<>();
+        if (values.isEmpty()) {
+            return rejected;
+        }
+        boolean noExpire = expireTime == null || expireTime.isEmpty() || TimeUtil.parseTimeToMillis(expireTime) == -1;
+        if (redissonClient == null) {
+            values.forEach((key, value) -> backend.set(key, value,
+                    noExpire ? -1 : TimeUtil.parseTimeToMillis(TimeUtil.addRandomJitter(expireTime, expireRange))));
+            return rejected;
+        }
+        if (!isSizeChecked(warnSize, maxSize)) {
+            RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+            values.forEach((key, value) -> {
+                RBucketAsync<V> bucket = batch.getBucket(key);
+                if (noExpire) {
+                    bucket.setAsync(value);
+                } else {
+                    long expireMs = TimeUtil.parseTimeToMillis(TimeUtil.addRandomJitter(expireTime, expireRange));
+                    bucket.setAsync(value, expireMs, TimeUnit.MILLISECONDS);
+                }
+            });
+            guarded(batch::execute);
+            return rejected;
+        }
+        Map<String, byte[]> encoded = new LinkedHashMap<>();
+        Map<String, byte[]> chunked = new LinkedHashMap<>();
+        Map<String, Long> ttls = new HashMap<>();
+        Set<String> removed = new LinkedHashSet<>();
+        values.forEach((key, value) -> {
+            if (value == null) {
+                removed.add(key);
+                return;
+            }
+            long ttlMs = noExpire ? -1 : TimeUtil.parseTimeToMillis(TimeUtil.addRandomJitter(expireTime, expireRange));
+            byte[] bytes;
+            try {
+                bytes = encodeChecked(key, value, warnSize, maxSize);
+            } catch (ValueTooLargeException e) {
+                logger.warn("缓存值超过大小上限，不写入: {}", e.getMessage());
+                rejected.add(key);
+                return;
+            }
+            ttls.put(key, ttlMs);
+            (isChunked(bytes, ttlMs) ? chunked : encoded).put(key, bytes);
+        });
+        if (isChunkingEnabled()) {
+            // 可能覆盖分片清单，写入时取回旧清单并回收其分片
+            swapAll(encoded, ttls);
+        } else {
+            writeAll(encoded, ttls);
+        }
+        chunked.forEach((key, bytes) -> setChunked(key, bytes, ttls.get(key)));
+        removed.addAll(rejected);
+        if (!removed.isEmpty()) {
+            delete(removed);
+        }
+        return rejected;
+    }
+
+    // ==================== 大值分片 ====================
+
+    /**
+     * 读取到分片清单时按清单读取并还原分片，其他值原样返回
+     * @param key 缓存键
+     * @param value 缓存键下读取到的值
+     * @param <T> 返回类型
+     * @return 还原后的值，分片不完整（已过期或被新版本替换）时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T resolveChunked(String key, Object value) {
+        if (!(value instanceof ChunkedValue manifest) || redissonClient == null) {
+            return (T) value;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        List<RFuture<byte[]>> futures = new ArrayList<>(manifest.getChunkCount());
+        for (int i = 0; i < manifest.getChunkCount(); i++) {
+            futures.add(batch.<byte[]>getBucket(manifest.chunkKey(key, i), ByteArrayCodec.INSTANCE).getAsync());
+        }
+        guarded(batch::execute);
+        ByteBuf buf = Unpooled.buffer(manifest.getSize());
+        try {
+            for (RFuture<byte[]> future : futures) {
+                byte[] chunk = future.toCompletableFuture().join();
+                if (chunk == null) {
+                    logger.debug("缓存分片不完整，按未命中处理: {}", key);
+                    return null;
+                }
+                buf.writeBytes(chunk);
+            }
+            return (T) codec().getValueDecoder().decode(buf, new State());
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to decode chunked value: " + key, e);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * 分片写入：先在一个管道批次中写入新版本的所有分片，再原子替换清单，最后删除旧版本的分片
+     */
+    private void setChunked(String key, byte[] bytes, long ttlMs) {
+        int chunkCount = (bytes.length + chunkSizeBytes - 1) / chunkSizeBytes;
+        String version = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+        ChunkedValue manifest = new ChunkedValue(version, chunkCount, bytes.length);
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        for (int i = 0; i < chunkCount; i++) {
+            byte[] chunk = Arrays.copyOfRange(bytes, i * chunkSizeBytes, Math.min(bytes.length, (i + 1) * chunkSizeBytes));
+            batch.getBucket(manifest.chunkKey(key, i), ByteArrayCodec.INSTANCE)
+                    .setAsync(chunk, ttlMs + CHUNK_TTL_GRACE_MS, TimeUnit.MILLISECONDS);
+        }
+        guarded(batch::execute);
+
+        // 正在读取旧版本的读取方会读到不完整的分片，按未命中处理后读取新版本
+        swapAll(Map.of(key, encode(manifest)), Map.of(key, ttlMs));
+        logger.debug("缓存值分片存储: {} {} bytes, {} chunks", key, bytes.length, chunkCount);
+    }
+
+    /**
+     * 是否开启分片存储，开启后覆盖和删除都需要回收旧清单的分片
+     */
+    private boolean isChunkingEnabled() {
+        return redissonClient != null && chunkThresholdBytes > 0;
+    }
+
+    /**
+     * 序列化后的值是否需要分片存储，永不过期的值不分片
+     */
+    private boolean isChunked(byte[] bytes, long ttlMs) {
+        return chunkThresholdBytes > 0 && bytes.length > chunkThresholdBytes && ttlMs > 0;
+    }
+
+    /**
+     * 序列化并检查大小：超过上限时拒绝写入，超过警告大小时记录警告
+     * @throws ValueTooLargeException 序列化后超过大小上限
+     */
+    private byte[] encodeChecked(String key, Object value, String warnSize, String maxSize) {
+        long warnBytes = warnSize.isEmpty() ? warnSizeBytes : parseSize(warnSize);
+        long maxBytes = maxSize.isEmpty() ? maxSizeBytes : parseSize(maxSize);
+        byte[] bytes = encode(value);
+        if (maxBytes > 0 && bytes.length > maxBytes) {
+            throw new ValueTooLargeException(key, bytes.length, maxBytes);
+        }
+        if (warnBytes > 0 && bytes.length > warnBytes) {
+            logger.warn("缓存值过大: {} {} bytes", key, bytes.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * 在一个管道批次中直接写入序列化后的值，读取时由客户端编解码器正常解码
+     */
+    private void writeAll(Map<String, byte[]> values, Map<String, Long> ttls) {
+        if (values.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        values.forEach((key, bytes) -> {
+            RBucketAsync<byte[]> bucket = batch.getBucket(key, ByteArrayCodec.INSTANCE);
+            long ttlMs = ttls.get(key);
+            if (ttlMs == -1) {
+                bucket.setAsync(bytes);
+            } else {
+                bucket.setAsync(bytes, ttlMs, TimeUnit.MILLISECONDS);
+            }
+        });
+        guarded(batch::execute);
+    }
+
+    /**
+     * 在一个管道批次中写入序列化后的值，并回收被覆盖的分片清单的分片
+     */
+    private void swapAll(Map<String, byte[]> values, Map<String, Long> ttls) {
+        if (values.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RScriptAsync script = batch.getScript(ByteArrayCodec.INSTANCE);
+        Map<String, RFuture<byte[]>> futures = new LinkedHashMap<>();
+        values.forEach((key, bytes) -> futures.put(key, script.evalAsync(key, RScript.Mode.READ_WRITE, SWAP_SCRIPT,
+                RScript.ReturnType.VALUE, List.of(key), bytes, utf8(ttls.get(key)), utf8(MANIFEST_MAX_BYTES))));
+        guarded(batch::execute);
+        List<String> staleKeys = new ArrayList<>();
+        futures.forEach((key, future) -> collectChunkKeys(key, future.toCompletableFuture().join(), staleKeys));
+        if (!staleKeys.isEmpty()) {
+            backend.unlink(staleKeys);
+        }
+    }
+
+    /**
+     * 在一个管道批次中删除键，并回收被删除的分片清单的分片
+     * @return 删除成功的数量
+     */
+    private long removeAll(Collection<String> keys, boolean unlink) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RScriptAsync script = batch.getScript(ByteArrayCodec.INSTANCE);
+        Map<String, RFuture<List<Object>>> futures = new LinkedHashMap<>();
+        byte[] command = utf8(unlink ? "UNLINK" : "DEL");
+        for (String key : keys) {
+            futures.put(key, script.evalAsync(key, RScript.Mode.READ_WRITE, REMOVE_SCRIPT,
+                    RScript.ReturnType.MULTI, List.of(key), command, utf8(MANIFEST_MAX_BYTES)));
+        }
+        guarded(batch::execute);
+        long removed = 0;
+        List<String> staleKeys = new ArrayList<>();
+        for (Map.Entry<String, RFuture<List<Object>>> entry : futures.entrySet()) {
+            List<Object> result = entry.getValue().toCompletableFuture().join();
+            removed += (Long) result.get(0);
+            if (result.size() > 1) {
+                collectChunkKeys(entry.getKey(), (byte[]) result.get(1), staleKeys);
+            }
+        }
+        if (!staleKeys.isEmpty()) {
+            backend.unlink(staleKeys);
+        }
+        return removed;
+    }
+
+    /**
+     * 旧值是分片清单时收集其所有分片键
+     */
+    private void collectChunkKeys(String key, byte[] previous, List<String> staleKeys) {
+        if (previous == null) {
+            return;
+        }
+        ByteBuf buf = Unpooled.wrappedBuffer(previous);
+        Object value;
+        try {
+            value = codec().getValueDecoder().decode(buf, new State());
+        } catch (Exception e) {
+            // 非本工具写入的值，不是分片清单
+            return;
+        } finally {
+            buf.release();
+        }
+        if (value instanceof ChunkedValue manifest) {
+            for (int i = 0; i < manifest.getChunkCount(); i++) {
+                staleKeys.add(manifest.chunkKey(key, i));
+            }
+        }
+    }
+
+    private static byte[] utf8(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] encode(Object value) {
+        ByteBuf buf;
+        try {
+            buf = codec().getValueEncoder().encode(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("failed to encode cached value", e);
+        }
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private Codec codec() {
+        return redissonClient.getConfig().getCodec();
+    }
+
+    /**
+     * 解析大小，为空时返回0，表示不开启
+     */
+    private static long parseSize(String size) {
+        return size == null || size.isBlank() ? 0 : DataSize.parse(size.trim()).toBytes();
+    }
+
+    // ==================== 热点键副本 ====================
+
+    /**
+     * 写入热点键的所有副本，所有副本使用相同的过期时间，Redisson后端在一个管道批次中写入
+     * @param key 原始缓存键
+     * @param value 缓存值
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param replicas 副本数
+     */
+    public <V> void setReplicated(String key, V value, String expireTime, int replicas) {
+        setReplicated(key, value, expireTime, replicas, "", "");
+    }
+
+    /**
+     * 写入热点键的所有副本并指定本次写入的大小阈值
+     * 开启大小阈值或分片存储时值只序列化一次，所有副本写入同一份序列化结果；副本不分片存储
+     * @param key 原始缓存键
+     * @param value 缓存值
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param replicas 副本数
+     * @param warnSize 警告大小，为空时使用全局配置
+     * @param maxSize 大小上限，为空时使用全局配置
+     * @throws ValueTooLargeException 序列化后超过大小上限，所有副本都不写入
+     */
+    public <V> void setReplicated(String key, V value, String expireTime, int replicas, String warnSize, String maxSize) {
+        List<String> keys = KeySlotUtil.replicaKeys(key, replicas);
+        long expireMs = expireTime == null || expireTime.isEmpty() ? -1 : TimeUtil.parseTimeToMillis(expireTime);
+        if (keys.size() == 1) {
+            set(key, value, expireMs == -1 ? "-1" : expireTime, warnSize, maxSize);
+            return;
+        }
+        if (redissonClient == null) {
+            keys.forEach(replicaKey -> backend.set(replicaKey, value, expireMs));
+            return;
+        }
+        if (value != null && isSizeChecked(warnSize, maxSize)) {
+            byte[] bytes = encodeChecked(key, value, warnSize, maxSize);
+            Map<String, byte[]> encoded = new LinkedHashMap<>();
+            Map<String, Long> ttls = new HashMap<>();
+            keys.forEach(replicaKey -> {
+                encoded.put(replicaKey, bytes);
+                ttls.put(replicaKey, expireMs);
+            });
+            writeAll(encoded, ttls);
+            return;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        for (String replicaKey : keys) {
+            RBucketAsync<V> bucket = batch.getBucket(replicaKey);
+            if (expireMs == -1) {
+                bucket.setAsync(value);
+            } else {
+                bucket.setAsync(value, expireMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        guarded(batch::execute);
+    }
+
+    /**
+     * 随机读取热点键的一个副本，读取压力分散到各副本所在的节点
+     * @param key 原始缓存键
+     * @param replicas 副本数
+     * @param <T> 返回类型
+     * @return 缓存值
+     */
+    public <T> T getReplica(String key, int replicas) {
+        return get(randomReplicaKey(key, replicas));
+    }
+
+    /**
+     * 随机选择热点键的一个副本键
+     * @param key 原始缓存键
+     * @param replicas 副本数
+     * @return 副本键，副本数小于等于1时为原始键
+     */
+    public String randomReplicaKey(String key, int replicas) {
+        if (replicas <= 1) {
+            return key;
+        }
+        return KeySlotUtil.replicaKeys(key, replicas).get(ThreadLocalRandom.current().nextInt(replicas));
+    }
+
+    /**
+     * 删除热点键的所有副本
+     * @param key 原始缓存键
+     * @param replicas 副本数，与写入时保持一致
+     * @return 删除成功的数量
+     */
+    public long delete(String key, int replicas) {
+        if (replicas <= 1) {
+            return delete(key) ? 1 : 0;
+        }
+        return delete(KeySlotUtil.replicaKeys(key, replicas));
     }
 
     // ==================== Map哈希操作 ====================
@@ -164,8 +1076,7 @@ public class RCache {
      * @param value 字段值
      */
     public <T> void hset(String key, String field, T value) {
-        RMap<String, T> map = redissonClient.getMap(key);
-        map.put(field, value);
+        backend.hset(key, field, value);
     }
 
     /**
@@ -174,8 +1085,7 @@ public class RCache {
      * @param values 字段值映射
      */
     public <T> void hsetAll(String key, Map<String, T> values) {
-        RMap<String, T> map = redissonClient.getMap(key);
-        map.putAll(values);
+        backend.hsetAll(key, values);
     }
 
     /**
@@ -187,9 +1097,8 @@ public class RCache {
      */
     @SuppressWarnings("unchecked")
     public <T> T hget(String key, String field) {
-        RMap<String, T> map = redissonClient.getMap(key);
-        T value = map.get(field);
-        
+        T value = backend.hget(key, field);
+
         // 处理空值标记
         if (RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value)) {
             return null;
@@ -199,20 +1108,36 @@ public class RCache {
 
     /**
      * 获取哈希所有字段和值
+     * 会将整个哈希复制到内存，大哈希请使用 {@link #hscan(String, int, BiConsumer)}
      * @param key 缓存键
      * @param <T> 值类型
      * @return 哈希表
      */
     @SuppressWarnings("unchecked")
     public <T> Map<String, T> hgetAll(String key) {
-        RMap<String, T> map = redissonClient.getMap(key);
-        Map<String, T> result = new HashMap<>(map);
-        
+        Map<String, T> result = backend.hgetAll(key);
+
         // 处理空值标记
         result.replaceAll((k, v) -> RedissonToolkitConstant.NULL_VALUE_MARKER.equals(v) ? null : v);
         return result;
     }
 
+    /**
+     * 分页流式遍历哈希所有字段和值
+     * 基于HSCAN逐页读取，不会一次性复制整个哈希
+     * @param key 缓存键
+     * @param pageSize 每页数量
+     * @param consumer 字段值消费者，空值标记会被转换为null
+     * @param <T> 值类型
+     */
+    public <T> void hscan(String key, int pageSize, BiConsumer<String, T> consumer) {
+        RMap<String, T> map = requireRedisson().getMap(key);
+        for (Map.Entry<String, T> entry : map.entrySet(pageSize)) {
+            T value = entry.getValue();
+            consumer.accept(entry.getKey(), RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value) ? null : value);
+        }
+    }
+
     /**
      * 删除哈希字段
      * @param key 缓存键
@@ -220,8 +1145,7 @@ public class RCache {
      * @return 删除成功的数量
      */
     public long hdel(String key, String... fields) {
-        RMap<String, Object> map = redissonClient.getMap(key);
-        return map.fastRemove(fields);
+        return backend.hdel(key, fields);
     }
 
     /**
@@ -231,8 +1155,196 @@ public class RCache {
      * @return 是否存在
      */
     public boolean hexists(String key, String field) {
-        RMap<String, Object> map = redissonClient.getMap(key);
-        return map.containsKey(field);
+        return backend.hexists(key, field);
+    }
+
+    // ==================== 缓存区域操作 ====================
+
+    /**
+     * 获取缓存区域中的条目
+     * 缓存区域将同一缓存的所有条目存储为单个RMapCache的字段，每个字段独立过期
+     * @param region 区域名
+     * @param field 字段名
+     * @param <T> 返回类型
+     * @return 条目值
+     */
+    public <T> T regionGet(String region, String field) {
+        RMapCache<String, T> mapCache = requireRedisson().getMapCache(region);
+        T value = guarded(() -> mapCache.get(field));
+
+        // 处理空值标记
+        if (RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value)) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * 设置缓存区域中的条目
+     * @param region 区域名
+     * @param field 字段名
+     * @param value 条目值，为null时存储空值标记
+     * @param expireTime 过期时间，为空或-1时永不过期
+     */
+    public <V> void regionPut(String region, String field, V value, String expireTime) {
+        regionPut(region, field, value, expireTime, "", "");
+    }
+
+    /**
+     * 设置缓存区域中的条目并指定本次写入的大小阈值
+     * 开启大小阈值或分片存储时值只序列化一次，按序列化结果直接写入；区域条目保存在哈希字段中，不分片存储
+     * @param region 区域名
+     * @param field 字段名
+     * @param value 条目值，为null时存储空值标记
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param warnSize 警告大小，为空时使用全局配置
+     * @param maxSize 大小上限，为空时使用全局配置
+     * @throws ValueTooLargeException 序列化后超过大小上限
+     */
+    public <V> void regionPut(String region, String field, V value, String expireTime, String warnSize, String maxSize) {
+        RedissonClient client = requireRedisson();
+        Object actualValue = value != null ? value : RedissonToolkitConstant.NULL_VALUE_MARKER;
+        RMapCache<String, Object> mapCache;
+        if (value != null && isSizeChecked(warnSize, maxSize)) {
+            actualValue = encodeChecked(region + ":" + field, value, warnSize, maxSize);
+            mapCache = client.getMapCache(region, regionBytesCodec());
+        } else {
+            mapCache = client.getMapCache(region);
+        }
+        Object storeValue = actualValue;
+        long expireMs = expireTime == null || expireTime.isEmpty() ? -1 : TimeUtil.parseTimeToMillis(expireTime);
+        if (expireMs == -1) {
+            guarded(() -> mapCache.fastPut(field, storeValue));
+        } else {
+            guarded(() -> mapCache.fastPut(field, storeValue, expireMs, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * 批量设置缓存区域中的条目，使用管道一次往返完成，每个字段独立计算随机抖动的过期时间
+     * @param region 区域名
+     * @param values 字段值映射
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param expireRange 防雪崩时间浮动范围
+     */
+    public <V> void regionPutAll(String region, Map<String, V> values, String expireTime, String expireRange) {
+        regionPutAll(region, values, expireTime, expireRange, "", "");
+    }
+
+    /**
+     * 批量设置缓存区域中的条目并指定本次写入的大小阈值，使用管道一次往返完成
+     * 开启大小阈值或分片存储时每个值只序列化一次，按序列化结果直接写入；
+     * 超过上限的字段不写入，同时删除旧值，避免继续读取到旧值
+     * @param region 区域名
+     * @param values 字段值映射
+     * @param expireTime 过期时间，为空或-1时永不过期
+     * @param expireRange 防雪崩时间浮动范围
+     * @param warnSize 警告大小，为空时使用全局配置
+     * @param maxSize 大小上限，为空时使用全局配置
+     * @return 超过大小上限未写入的字段
+     */
+    public <V> Set<String> regionPutAll(String region, Map<String, V> values, String expireTime, String expireRange,
+                                        String warnSize, String maxSize) {
+        Set<String> rejected = new LinkedHashSet<>();
+        if (values.isEmpty()) {
+            return rejected;
+        }
+        boolean noExpire = expireTime == null || expireTime.isEmpty() || TimeUtil.parseTimeToMillis(expireTime) == -1;
+        boolean sizeChecked = isSizeChecked(warnSize, maxSize);
+        RBatch batch = requireRedisson().createBatch(BatchOptions.defaults().skipResult());
+        RMapCacheAsync<String, Object> mapCache = sizeChecked ? batch.getMapCache(region, regionBytesCodec()) : batch.getMapCache(region);
+        values.forEach((field, value) -> {
+            Object actualValue = value != null ? value : RedissonToolkitConstant.NULL_VALUE_MARKER;
+            if (sizeChecked) {
+                try {
+                    actualValue = encodeChecked(region + ":" + field, actualValue, warnSize, maxSize);
+                } catch (ValueTooLargeException e) {
+                    logger.warn("缓存区域条目超过大小上限，不写入: {}", e.getMessage());
+                    rejected.add(field);
+                    mapCache.fastRemoveAsync(field);
+                    return;
+                }
+            }
+            if (noExpire) {
+                mapCache.fastPutAsync(field, actualValue);
+            } else {
+                long expireMs = TimeUtil.parseTimeToMillis(TimeUtil.addRandomJitter(expireTime, expireRange));
+                mapCache.fastPutAsync(field, actualValue, expireMs, TimeUnit.MILLISECONDS);
+            }
+        });
+        guarded(batch::execute);
+        return rejected;
+    }
+
+    /**
+     * 按序列化结果写入区域条目的编解码器：字段名使用客户端编解码器，条目值直接写入已序列化的字节，
+     * 读取时由客户端编解码器正常解码
+     */
+    private Codec regionBytesCodec() {
+        return new CompositeCodec(codec(), ByteArrayCodec.INSTANCE);
+    }
+
+    /**
+     * 批量检查缓存区域中的字段是否存在，通过管道一次往返完成，只传输存在性，不读取字段值
+     * 逐字段检查会考虑字段的过期时间，已过期未清理的字段视为不存在
+     * @param region 区域名
+     * @param fields 字段名列表
+     * @return 已存在的字段
+     */
+    public Set<String> regionExistingFields(String region, Collection<String> fields) {
+        Set<String> existing = new HashSet<>();
+        if (fields.isEmpty()) {
+            return existing;
+        }
+        RBatch batch = requireRedisson().createBatch(BatchOptions.defaults());
+        RMapCacheAsync<String, Object> mapCache = batch.getMapCache(region);
+        Map<String, RFuture<Boolean>> futures = new LinkedHashMap<>();
+        for (String field : new LinkedHashSet<>(fields)) {
+            futures.put(field, mapCache.containsKeyAsync(field));
+        }
+        guarded(batch::execute);
+        futures.forEach((field, future) -> {
+            if (Boolean.TRUE.equals(future.toCompletableFuture().join())) {
+                existing.add(field);
+            }
+        });
+        return existing;
+    }
+
+    /**
+     * 删除缓存区域中的条目
+     * @param region 区域名
+     * @param fields 字段名数组
+     * @return 删除成功的数量
+     */
+    public long regionRemove(String region, String... fields) {
+        RMapCache<String, Object> mapCache = requireRedisson().getMapCache(region);
+        return guarded(() -> mapCache.fastRemove(fields));
+    }
+
+    /**
+     * 清空整个缓存区域，单次删除完成
+     * @param region 区域名
+     * @return 是否删除成功
+     */
+    public boolean regionClear(String region) {
+        RMapCache<String, Object> mapCache = requireRedisson().getMapCache(region);
+        return guarded(mapCache::delete);
+    }
+
+    /**
+     * 分页流式遍历缓存区域中的条目
+     * @param region 区域名
+     * @param pageSize 每页数量
+     * @param consumer 字段值消费者，空值标记会被转换为null
+     * @param <T> 值类型
+     */
+    public <T> void regionScan(String region, int pageSize, BiConsumer<String, T> consumer) {
+        RMapCache<String, T> mapCache = requireRedisson().getMapCache(region);
+        for (Map.Entry<String, T> entry : mapCache.entrySet(pageSize)) {
+            T value = entry.getValue();
+            consumer.accept(entry.getKey(), RedissonToolkitConstant.NULL_VALUE_MARKER.equals(value) ? null : value);
+        }
     }
 
 }
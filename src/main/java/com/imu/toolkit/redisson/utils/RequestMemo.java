@@ -0,0 +1,228 @@
+package com.imu.toolkit.redisson.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 请求级缓存备忘
+ * 在一次请求或一个任务步骤的作用域内记住已解析的缓存值和已持有的分布式锁，
+ * 作用域内再次以相同的键调用 @AddCache 方法时直接返回第一次的结果，已持有的锁不再访问Redis；
+ * 作用域绑定在当前线程上，不同请求之间不共享，作用域结束时自动清理
+ * <p>
+ * 作用域内通过 @RemoveCache、@PutCache 修改的键会同步从备忘中移除；
+ * 直接通过 RCache 修改的缓存不会反映到备忘中，需要时调用 {@link #invalidate(String)}
+ * <p>
+ * 作用域内多次调用返回同一个对象实例，调用方不应修改返回的值
+ * <p>
+ * 已持有的锁按本地记录判断，不再确认Redis中的状态：带租期的锁按获取前的本地时间计算到期时刻，
+ * 租期到期后嵌套调用重新向Redis获取；租期内锁因主从切换或键被删除等原因丢失时无法感知，嵌套调用在无锁保护下执行
+ * <pre>
+ * try (RequestMemo.Scope scope = RequestMemo.open()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class RequestMemo {
+
+    /**
+     * 单个作用域最多备忘的缓存值数量，超出后不再备忘新的键，防止长任务步骤占用过多内存
+     */
+    public static final int MAX_ENTRIES = 10_000;
+
+    /**
+     * 空值占位
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 开启作用域，已在作用域内时加入当前作用域，由最外层关闭时清理
+     * @return 作用域
+     */
+    public static Scope open() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            scope = new Scope();
+            CURRENT.set(scope);
+        }
+        scope.depth++;
+        return scope;
+    }
+
+    /**
+     * 在作用域内执行任务
+     * @param task 任务
+     */
+    public static void run(Runnable task) {
+        Scope scope = open();
+        try {
+            task.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * 在作用域内执行任务并返回结果
+     * @param task 任务
+     * @param <T> 结果类型
+     * @return 任务结果
+     */
+    public static <T> T supply(Supplier<T> task) {
+        Scope scope = open();
+        try {
+            return task.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * 当前线程是否处于作用域内
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * 获取备忘的值，作用域内未备忘时调用加载器并备忘其结果；不在作用域内时直接调用加载器
+     * 加载器抛出异常时不备忘
+     * @param key 缓存键
+     * @param loader 加载器
+     * @return 缓存值
+     */
+    public static Object computeIfAbsent(String key, Loader loader) throws Throwable {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return loader.load();
+        }
+        Object value = scope.values.get(key);
+        if (value != null) {
+            return value == NULL_VALUE ? null : value;
+        }
+        value = loader.load();
+        if (scope.values.size() < MAX_ENTRIES) {
+            scope.values.put(key, value == null ? NULL_VALUE : value);
+        }
+        return value;
+    }
+
+    /**
+     * 从当前作用域中移除备忘的值
+     * @param key 缓存键
+     */
+    public static void invalidate(String key) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.values.remove(key);
+        }
+    }
+
+    /**
+     * 从当前作用域中移除指定前缀的所有备忘值，用于清空缓存区域
+     * @param prefix 键前缀
+     */
+    public static void invalidatePrefix(String prefix) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.values.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * 当前作用域是否已持有指定的分布式锁，带租期的锁租期已到期时视为未持有
+     * @param lockName 锁名称
+     * @return 是否已持有
+     */
+    public static boolean isLockHeld(String lockName) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return false;
+        }
+        HeldLock held = scope.heldLocks.get(lockName);
+        return held != null && System.nanoTime() - held.expiresAtNanos < 0;
+    }
+
+    /**
+     * 记录作用域获取了分布式锁
+     * @param lockName 锁名称
+     * @param leaseMs 租期（毫秒），小于等于0表示不会到期
+     * @param requestedAtNanos 发起获取前的 {@link System#nanoTime()}，租期从此刻起算，不晚于Redis中的实际起点
+     */
+    public static void onLockAcquired(String lockName, long leaseMs, long requestedAtNanos) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        // 换算溢出时取Long.MAX_VALUE，按差值比较到期时刻，不受溢出影响
+        long expiresAtNanos = requestedAtNanos + (leaseMs <= 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(leaseMs));
+        HeldLock held = scope.heldLocks.computeIfAbsent(lockName, name -> new HeldLock());
+        if (held.count++ == 0 || expiresAtNanos - held.expiresAtNanos > 0) {
+            held.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * 记录作用域释放了分布式锁
+     * @param lockName 锁名称
+     */
+    public static void onLockReleased(String lockName) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.heldLocks.computeIfPresent(lockName, (name, held) -> --held.count > 0 ? held : null);
+        }
+    }
+
+    /**
+     * 作用域内持有的锁：重入次数和本地估算的租期到期时刻
+     */
+    private static final class HeldLock {
+
+        private int count;
+
+        private long expiresAtNanos;
+    }
+
+    /**
+     * 可抛出异常的加载器，与切面的执行方式一致
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        Object load() throws Throwable;
+    }
+
+    /**
+     * 作用域，只在所属线程上使用，无需同步
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        private final Map<String, HeldLock> heldLocks = new HashMap<>();
+
+        private int depth;
+
+        private Scope() {
+        }
+
+        /**
+         * 当前作用域备忘的缓存值数量
+         */
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public void close() {
+            if (--depth == 0) {
+                values.clear();
+                heldLocks.clear();
+                CURRENT.remove();
+            }
+        }
+    }
+}
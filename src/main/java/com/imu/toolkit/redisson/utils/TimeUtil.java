@@ -1,5 +1,6 @@
 package com.imu.toolkit.redisson.utils;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -73,5 +74,29 @@ public class TimeUtil {
         }
         return result;
     }
-    
+
+    /**
+     * 添加过期时间随机抖动，防止缓存雪崩
+     * @param expireTime 原始过期时间字符串
+     * @param range 随机范围时间字符串（毫秒）
+     * @return 带随机抖动的过期时间字符串
+     */
+    public static String addRandomJitter(String expireTime, String range) {
+        long rangeMs = parseTimeToMillis(range);
+        if (rangeMs <= 0) {
+            return expireTime;
+        }
+
+        long expireMs = parseTimeToMillis(expireTime);
+        if (expireMs <= 0) {
+            return expireTime;
+        }
+
+        // 计算随机偏移量，确保至少1毫秒的偏移
+        long jitter = ThreadLocalRandom.current().nextLong(rangeMs) + 1;
+        expireMs += jitter;
+
+        return expireMs + "ms";
+    }
+
 }
\ No newline at end of file
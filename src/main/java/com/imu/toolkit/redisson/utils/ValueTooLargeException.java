@@ -0,0 +1,13 @@
+package com.imu.toolkit.redisson.utils;
+
+/**
+ * 缓存值序列化后超过大小上限，拒绝写入
+ */
+public class ValueTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ValueTooLargeException(String key, long size, long maxSize) {
+        super("cached value too large: " + key + ", " + size + " bytes exceeds " + maxSize + " bytes");
+    }
+}
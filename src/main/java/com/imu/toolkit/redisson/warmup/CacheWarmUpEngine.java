@@ -0,0 +1,439 @@
+package com.imu.toolkit.redisson.warmup;
+
+import com.imu.toolkit.redisson.annotation.AddCache;
+import com.imu.toolkit.redisson.annotation.WarmUpCache;
+import com.imu.toolkit.redisson.aspect.AddCacheAspect;
+import com.imu.toolkit.redisson.utils.AnnotatedMethodScanner;
+import com.imu.toolkit.redisson.utils.AspectUtil;
+import com.imu.toolkit.redisson.utils.CacheEnvelope;
+import com.imu.toolkit.redisson.utils.EntityListCache;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import com.imu.toolkit.redisson.utils.ValueTooLargeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 缓存预热引擎
+ * 扫描同时标注 {@link AddCache} 和 {@link WarmUpCache} 的方法，按声明的参数来源调用原方法，
+ * 以有限并发加载数据，并通过管道批量写入带随机抖动过期时间的缓存
+ * 已存在的缓存键会被跳过，滚动重启时不会重复加载
+ * 启动预热期间就绪状态为REFUSING_TRAFFIC，完成后恢复为ACCEPTING_TRAFFIC；手动预热不改变就绪状态
+ * <p>
+ * 过期时间与 @AddCache 写入一致：应用运行时参数覆盖，开启自适应过期时间时按当前访问频率逐键计算；
+ * 所有写入与 @AddCache 一样按大小阈值检查，超过上限的键不写入并计为失败
+ */
+@Component
+public class CacheWarmUpEngine implements ApplicationRunner, ApplicationContextAware, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmUpEngine.class);
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+    @Autowired
+    private RCache rCache;
+
+    @Autowired
+    private EntityListCache entityListCache;
+
+    @Autowired
+    private AddCacheAspect addCacheAspect;
+
+    private ApplicationContext applicationContext;
+
+    /**
+     * 预热加载执行器，每个任务一个虚拟线程，所有方法共用；各方法的并发度由工作任务数量限制
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile boolean ready = false;
+
+    private volatile List<WarmUpTarget> targets;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp(true);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 手动触发预热所有声明的方法
+     * @return 预热结果
+     */
+    public WarmUpResult warmUp() {
+        return warmUp(false);
+    }
+
+    /**
+     * 是否已完成预热
+     * @return 是否就绪
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private WarmUpResult warmUp(boolean startup) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("cache warm-up is already running");
+        }
+        if (startup) {
+            // 只有启动预热摘除流量，手动预热时实例仍在正常服务
+            ready = false;
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        }
+        WarmUpResult total = new WarmUpResult();
+        try {
+            for (WarmUpTarget target : getTargets()) {
+                if (startup && !target.warmUpCache().onStartup()) {
+                    continue;
+                }
+                try {
+                    WarmUpResult result = warmUp(target);
+                    total.merge(result);
+                    logger.info("缓存预热完成: {}, {}", AspectUtil.getMethodFullPath(target.method()), result);
+                } catch (Exception e) {
+                    // 单个方法预热失败不影响其他方法
+                    logger.error("缓存预热失败: {}, {}", AspectUtil.getMethodFullPath(target.method()), e.getMessage(), e);
+                }
+            }
+            return total;
+        } finally {
+            running.set(false);
+            if (startup) {
+                // 预热只是优化手段，无论成功与否都恢复接收流量
+                ready = true;
+                AvailabilityChangeEvent.publish(applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        }
+    }
+
+    /**
+     * 预热单个方法
+     * 按批次并发执行，每个批次先通过管道检查存在性，再加载缺失的键并通过管道写入
+     */
+    private WarmUpResult warmUp(WarmUpTarget target) throws Exception {
+        List<Object[]> argumentSets = resolveArgumentSets(target);
+        int batchSize = Math.max(1, target.warmUpCache().batchSize());
+        List<List<Object[]>> batches = new ArrayList<>();
+        for (int i = 0; i < argumentSets.size(); i += batchSize) {
+            batches.add(argumentSets.subList(i, Math.min(i + batchSize, argumentSets.size())));
+        }
+
+        WarmUpResult result = new WarmUpResult();
+        if (batches.isEmpty()) {
+            return result;
+        }
+        // 并发度个工作任务依次领取批次，同时执行的批次数不超过并发度
+        int parallelism = Math.max(1, Math.min(target.warmUpCache().parallelism(), batches.size()));
+        AtomicInteger nextBatch = new AtomicInteger();
+        List<Future<WarmUpResult>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                futures.add(executor.submit(() -> {
+                    WarmUpResult workerResult = new WarmUpResult();
+                    int index;
+                    while ((index = nextBatch.getAndIncrement()) < batches.size()) {
+                        workerResult.merge(warmUpBatch(target, batches.get(index)));
+                    }
+                    return workerResult;
+                }));
+            }
+            for (Future<WarmUpResult> future : futures) {
+                result.merge(future.get());
+            }
+        } finally {
+            // 某个批次失败时取消其余工作任务
+            futures.forEach(future -> future.cancel(true));
+        }
+        return result;
+    }
+
+    private WarmUpResult warmUpBatch(WarmUpTarget target, List<Object[]> batch) {
+        AddCache addCache = target.addCache();
+        Method method = target.method();
+        String regionName = AspectUtil.buildRegionName(addCache.prefix(), addCache.region(), addCache.hashTag());
+        Map<String, Object[]> keyedArguments = new LinkedHashMap<>();
+        for (Object[] args : batch) {
+            String cacheKey = regionName == null
+                    ? AspectUtil.parseKeyOrUsePath(target.bean(), target.method(), args, addCache.key(), addCache.prefix(), addCache.hashTag())
+                    : AspectUtil.parseKeyOrUsePath(target.bean(), target.method(), args, addCache.key(), "");
+            keyedArguments.putIfAbsent(cacheKey, args);
+        }
+
+        WarmUpResult result = new WarmUpResult();
+        Set<String> existing = regionName == null
+                ? rCache.existingKeys(keyedArguments.keySet())
+                : rCache.regionExistingFields(regionName, keyedArguments.keySet());
+        result.skipped += existing.size();
+
+        Map<String, Object> loaded = new LinkedHashMap<>();
+        Map<String, Long> computeMs = new HashMap<>();
+        keyedArguments.forEach((cacheKey, args) -> {
+            if (existing.contains(cacheKey)) {
+                return;
+            }
+            try {
+                // 直接调用目标对象，绕过AddCacheAspect，统一由批量管道写入
+                long startNanos = System.nanoTime();
+                Object value = target.method().invoke(target.bean(), args);
+                computeMs.put(cacheKey, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                if (value != null && EntityListCache.isEnabled(addCache)) {
+                    // 实体先行写入，列表键下只保存ID
+                    loaded.put(cacheKey, entityListCache.normalize(method, addCache, value,
+                            addCacheAspect.resolveExpire(method, addCache, cacheKey), addCacheAspect.resolveExpireRange(method, addCache)));
+                } else if (value != null) {
+                    loaded.put(cacheKey, value);
+                } else {
+                    result.skipped++;
+                }
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                result.failed++;
+                Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                logger.warn("缓存预热加载失败: {}, {}", cacheKey, cause.getMessage());
+            }
+        });
+
+        String expireRange = addCacheAspect.resolveExpireRange(method, addCache);
+        boolean adaptive = AddCacheAspect.isAdaptiveExpire(addCache);
+        if (regionName == null && addCache.replicas() > 1) {
+            // 热点键的所有副本使用相同的过期时间
+            writeEach(loaded, result, cacheKey -> {
+                String expire = jitteredExpire(method, addCache, cacheKey, expireRange);
+                rCache.setReplicated(cacheKey, envelope(addCache, loaded.get(cacheKey), computeMs.get(cacheKey), expire),
+                        expire, addCache.replicas(), addCache.warnSize(), addCache.maxSize());
+            });
+        } else if (regionName != null && adaptive) {
+            writeEach(loaded, result, cacheKey -> {
+                String expire = jitteredExpire(method, addCache, cacheKey, expireRange);
+                rCache.regionPut(regionName, cacheKey, envelope(addCache, loaded.get(cacheKey), computeMs.get(cacheKey), expire),
+                        expire, addCache.warnSize(), addCache.maxSize());
+            });
+        } else if (adaptive) {
+            // 逐键计算过期时间，无法合并到一个管道批次
+            writeEach(loaded, result, cacheKey -> {
+                String expire = jitteredExpire(method, addCache, cacheKey, expireRange);
+                rCache.set(cacheKey, envelope(addCache, loaded.get(cacheKey), computeMs.get(cacheKey), expire),
+                        expire, addCache.warnSize(), addCache.maxSize());
+            });
+        } else {
+            String expire = addCacheAspect.resolveExpire(method, addCache, null);
+            Set<String> rejected = regionName != null
+                    ? rCache.regionPutAll(regionName, envelopes(addCache, loaded, computeMs, expire), expire, expireRange,
+                            addCache.warnSize(), addCache.maxSize())
+                    : rCache.setAll(envelopes(addCache, loaded, computeMs, expire), expire, expireRange,
+                            addCache.warnSize(), addCache.maxSize());
+            rejected.forEach(loaded::remove);
+            result.failed += rejected.size();
+        }
+        result.loaded += loaded.size();
+        return result;
+    }
+
+    /**
+     * 开启提前刷新时按预热加载耗时包装缓存值，与 @AddCache 写入的格式一致，预热的条目同样可以被提前刷新
+     */
+    private static Object envelope(AddCache addCache, Object value, long computeMs, String expire) {
+        return CacheEnvelope.wrap(value, addCache.earlyRefreshBeta(), computeMs, expire);
+    }
+
+    /**
+     * 批量写入时过期时刻按未抖动的过期时间计算，只会略早于实际过期
+     */
+    private static Map<String, Object> envelopes(AddCache addCache, Map<String, Object> loaded, Map<String, Long> computeMs,
+                                                 String expire) {
+        if (addCache.earlyRefreshBeta() <= 0) {
+            return loaded;
+        }
+        Map<String, Object> wrapped = new LinkedHashMap<>();
+        loaded.forEach((cacheKey, value) -> wrapped.put(cacheKey, envelope(addCache, value, computeMs.get(cacheKey), expire)));
+        return wrapped;
+    }
+
+    /**
+     * 解析单个键的过期时间并添加随机抖动，为空时永不过期
+     */
+    private String jitteredExpire(Method method, AddCache addCache, String cacheKey, String expireRange) {
+        String expire = addCacheAspect.resolveExpire(method, addCache, cacheKey);
+        return expire.isEmpty() ? "-1" : TimeUtil.addRandomJitter(expire, expireRange);
+    }
+
+    /**
+     * 逐键写入，超过大小上限的键跳过写入并计为失败
+     */
+    private static void writeEach(Map<String, Object> loaded, WarmUpResult result, Consumer<String> writer) {
+        for (String cacheKey : new ArrayList<>(loaded.keySet())) {
+            try {
+                writer.accept(cacheKey);
+            } catch (ValueTooLargeException e) {
+                loaded.remove(cacheKey);
+                result.failed++;
+                logger.warn("缓存预热值超过大小上限，跳过写入: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 解析参数来源表达式，转换为参数集列表
+     */
+    private List<Object[]> resolveArgumentSets(WarmUpTarget target) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setBeanResolver(new BeanFactoryResolver(applicationContext));
+        Object value = PARSER.parseExpression(target.warmUpCache().source()).getValue(context);
+
+        List<Object[]> argumentSets = new ArrayList<>();
+        if (value == null) {
+            return argumentSets;
+        }
+        int parameterCount = target.method().getParameterCount();
+        if (value instanceof Iterable<?> iterable) {
+            for (Object element : iterable) {
+                argumentSets.add(toArguments(element, parameterCount));
+            }
+        } else if (value instanceof Object[] array) {
+            for (Object element : array) {
+                argumentSets.add(toArguments(element, parameterCount));
+            }
+        } else {
+            argumentSets.add(toArguments(value, parameterCount));
+        }
+        return argumentSets;
+    }
+
+    private Object[] toArguments(Object element, int parameterCount) {
+        if (parameterCount != 1 && element instanceof Object[] args) {
+            return args;
+        }
+        return new Object[]{element};
+    }
+
+    /**
+     * 扫描容器中声明预热的方法，结果缓存复用
+     */
+    private List<WarmUpTarget> getTargets() {
+        List<WarmUpTarget> current = targets;
+        if (current != null) {
+            return current;
+        }
+        current = new ArrayList<>();
+        Map<String, Set<Method>> beans = AnnotatedMethodScanner.scanBeans(applicationContext,
+                method -> AnnotatedElementUtils.hasAnnotation(method, WarmUpCache.class));
+        for (Map.Entry<String, Set<Method>> entry : beans.entrySet()) {
+            Object targetBean = getUltimateTarget(applicationContext.getBean(entry.getKey()));
+            for (Method method : entry.getValue()) {
+                AddCache addCache = method.getAnnotation(AddCache.class);
+                if (addCache == null) {
+                    logger.warn("@WarmUpCache需要与@AddCache一起使用，已忽略: {}", AspectUtil.getMethodFullPath(method));
+                    continue;
+                }
+                ReflectionUtils.makeAccessible(method);
+                current.add(new WarmUpTarget(targetBean, method, addCache,
+                        AnnotatedElementUtils.findMergedAnnotation(method, WarmUpCache.class)));
+            }
+        }
+        targets = current;
+        return current;
+    }
+
+    private Object getUltimateTarget(Object bean) {
+        Object current = bean;
+        Object target = AopProxyUtils.getSingletonTarget(current);
+        while (target != null) {
+            current = target;
+            target = AopProxyUtils.getSingletonTarget(current);
+        }
+        return current;
+    }
+
+    /**
+     * 预热目标方法
+     */
+    private record WarmUpTarget(Object bean, Method method, AddCache addCache, WarmUpCache warmUpCache) {
+    }
+
+    /**
+     * 预热结果
+     */
+    public static class WarmUpResult {
+
+        private int loaded;
+
+        private int skipped;
+
+        private int failed;
+
+        /**
+         * @return 加载并写入缓存的数量
+         */
+        public int getLoaded() {
+            return loaded;
+        }
+
+        /**
+         * @return 已存在或结果为空而跳过的数量
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return 加载失败的数量
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        private void merge(WarmUpResult other) {
+            loaded += other.loaded;
+            skipped += other.skipped;
+            failed += other.failed;
+        }
+
+        @Override
+        public String toString() {
+            return "loaded=" + loaded + ", skipped=" + skipped + ", failed=" + failed;
+        }
+    }
+}
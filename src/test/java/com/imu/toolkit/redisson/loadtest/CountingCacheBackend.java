@@ -0,0 +1,208 @@
+package com.imu.toolkit.redisson.loadtest;
+
+import com.imu.toolkit.redisson.backend.BackendLock;
+import com.imu.toolkit.redisson.backend.BackendRateLimiter;
+import com.imu.toolkit.redisson.backend.BackendSemaphore;
+import com.imu.toolkit.redisson.backend.CacheBackend;
+import com.imu.toolkit.redisson.backend.DelegatingCacheBackend;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 统计后端调用数的存储后端装饰器
+ * 每次后端调用计为一次，锁、限流和信号量的一次获取或释放也计为一次；
+ * 统计的是 {@link CacheBackend} 层面的调用，不是Redis命令数：一次批量读取、管道批次或脚本计为一次，
+ * 锁等待期间的订阅和重试不计入
+ */
+public class CountingCacheBackend implements DelegatingCacheBackend {
+
+    private final CacheBackend delegate;
+
+    private final LongAdder calls = new LongAdder();
+
+    public CountingCacheBackend(CacheBackend delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CacheBackend getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 获取累计调用数
+     */
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * 重置调用计数
+     */
+    public void reset() {
+        calls.reset();
+    }
+
+    @Override
+    public <V> V get(String key) {
+        calls.increment();
+        return delegate.get(key);
+    }
+
+    @Override
+    public <V> Map<String, V> getAll(Collection<String> keys) {
+        calls.increment();
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public <V> V getFromReplicaNode(String key) {
+        calls.increment();
+        return delegate.getFromReplicaNode(key);
+    }
+
+    @Override
+    public <V> void set(String key, V value, long ttlMs) {
+        calls.increment();
+        delegate.set(key, value, ttlMs);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        calls.increment();
+        return delegate.delete(key);
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        calls.increment();
+        return delegate.delete(keys);
+    }
+
+    @Override
+    public long unlink(Collection<String> keys) {
+        calls.increment();
+        return delegate.unlink(keys);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        calls.increment();
+        return delegate.exists(key);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMs) {
+        calls.increment();
+        return delegate.expire(key, ttlMs);
+    }
+
+    @Override
+    public long remainTimeToLive(String key) {
+        calls.increment();
+        return delegate.remainTimeToLive(key);
+    }
+
+    @Override
+    public <V> V hget(String key, String field) {
+        calls.increment();
+        return delegate.hget(key, field);
+    }
+
+    @Override
+    public <V> void hset(String key, String field, V value) {
+        calls.increment();
+        delegate.hset(key, field, value);
+    }
+
+    @Override
+    public <V> void hsetAll(String key, Map<String, V> values) {
+        calls.increment();
+        delegate.hsetAll(key, values);
+    }
+
+    @Override
+    public <V> Map<String, V> hgetAll(String key) {
+        calls.increment();
+        return delegate.hgetAll(key);
+    }
+
+    @Override
+    public long hdel(String key, String... fields) {
+        calls.increment();
+        return delegate.hdel(key, fields);
+    }
+
+    @Override
+    public boolean hexists(String key, String field) {
+        calls.increment();
+        return delegate.hexists(key, field);
+    }
+
+    @Override
+    public BackendLock getLock(String name) {
+        BackendLock lock = delegate.getLock(name);
+        return new BackendLock() {
+            @Override
+            public boolean tryLock(long waitMs, long leaseMs, long ownerId) throws InterruptedException {
+                calls.increment();
+                return lock.tryLock(waitMs, leaseMs, ownerId);
+            }
+
+            @Override
+            public void unlock(long ownerId) {
+                calls.increment();
+                lock.unlock(ownerId);
+            }
+        };
+    }
+
+    @Override
+    public BackendRateLimiter getRateLimiter(String name, long limit, long windowMs) {
+        BackendRateLimiter rateLimiter = delegate.getRateLimiter(name, limit, windowMs);
+        return (waitMs, asyncWait) -> {
+            calls.increment();
+            return rateLimiter.tryAcquire(waitMs, asyncWait);
+        };
+    }
+
+    @Override
+    public BackendSemaphore getSemaphore(String name, int permits) {
+        calls.increment();
+        BackendSemaphore semaphore = delegate.getSemaphore(name, permits);
+        return new BackendSemaphore() {
+            @Override
+            public String tryAcquire(long waitMs, long leaseMs, boolean asyncWait) throws InterruptedException {
+                calls.increment();
+                return semaphore.tryAcquire(waitMs, leaseMs, asyncWait);
+            }
+
+            @Override
+            public void release(String permitId) {
+                calls.increment();
+                semaphore.release(permitId);
+            }
+        };
+    }
+
+    @Override
+    public long publish(String topic, Object message) {
+        calls.increment();
+        return delegate.publish(topic, message);
+    }
+
+    @Override
+    public int subscribe(String topic, Consumer<Object> listener) {
+        calls.increment();
+        return delegate.subscribe(topic, listener);
+    }
+
+    @Override
+    public void unsubscribe(String topic, int listenerId) {
+        calls.increment();
+        delegate.unsubscribe(topic, listenerId);
+    }
+}
@@ -0,0 +1,77 @@
+package com.imu.toolkit.redisson.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数线性延迟直方图
+ * 每个2的幂区间划分为32个子桶，相对误差约3%，记录为无锁的原子计数，适合高并发压测
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一次延迟
+     * @param nanos 延迟（纳秒）
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * 获取指定百分位的延迟
+     * @param percentile 百分位，取值0-100
+     * @return 延迟（纳秒），无记录时返回0
+     */
+    public long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(lowerBound(i + 1) - 1, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * 获取最大延迟（纳秒）
+     */
+    public long max() {
+        return max.get();
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+}
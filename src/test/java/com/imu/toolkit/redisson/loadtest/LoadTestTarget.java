@@ -0,0 +1,151 @@
+package com.imu.toolkit.redisson.loadtest;
+
+import com.imu.toolkit.redisson.annotation.AddCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 压测目标服务
+ * 每个方法对应一种缓存配置，方法体模拟一次数据库加载：记录调用次数并休眠指定的加载延迟
+ * 不标注组件注解，只由 {@link StampedeLoadTest} 手动注册，避免被业务应用扫描
+ * 本模块编译时不保留参数名，缓存键使用#p0引用参数
+ */
+public class LoadTestTarget {
+
+    /**
+     * 热点键缓存过期时间
+     */
+    public static final String HOT_EXPIRE = "1s";
+
+    /**
+     * 批量键缓存过期时间
+     */
+    public static final String BULK_EXPIRE = "2s";
+
+    /**
+     * 加载超时提示，用于区分互斥锁等待超时和其他异常
+     */
+    public static final String LOAD_TIMEOUT_MSG = "loadtest mutex timeout";
+
+    private final LoaderStats loaderStats;
+
+    private final long loadLatencyMs;
+
+    public LoadTestTarget(LoaderStats loaderStats, long loadLatencyMs) {
+        this.loaderStats = loaderStats;
+        this.loadLatencyMs = loadLatencyMs;
+    }
+
+    /**
+     * 热点键，默认配置
+     */
+    @AddCache(key = "#p0", prefix = "loadtest:hot:", expire = HOT_EXPIRE, expireRange = "0ms",
+            loadMutexTimeoutMsg = LOAD_TIMEOUT_MSG)
+    public String loadHot(String id) throws InterruptedException {
+        return load(id);
+    }
+
+    /**
+     * 热点键，开启概率性提前刷新
+     */
+    @AddCache(key = "#p0", prefix = "loadtest:early:", expire = HOT_EXPIRE, expireRange = "0ms",
+            earlyRefreshBeta = 1, loadMutexTimeoutMsg = LOAD_TIMEOUT_MSG)
+    public String loadHotEarlyRefresh(String id) throws InterruptedException {
+        return load(id);
+    }
+
+    /**
+     * 不存在的数据，加载结果为null
+     */
+    @AddCache(key = "#p0", prefix = "loadtest:missing:", expire = HOT_EXPIRE, loadMutexTimeoutMsg = LOAD_TIMEOUT_MSG)
+    public String loadMissing(String id) throws InterruptedException {
+        load(id);
+        return null;
+    }
+
+    /**
+     * 批量键，无过期时间抖动
+     */
+    @AddCache(key = "#p0", prefix = "loadtest:bulk:", expire = BULK_EXPIRE, expireRange = "0ms",
+            loadMutexTimeoutMsg = LOAD_TIMEOUT_MSG)
+    public String loadBulk(String id) throws InterruptedException {
+        return load(id);
+    }
+
+    /**
+     * 批量键，过期时间随机抖动1秒
+     */
+    @AddCache(key = "#p0", prefix = "loadtest:bulk-jitter:", expire = BULK_EXPIRE, expireRange = "1s",
+            loadMutexTimeoutMsg = LOAD_TIMEOUT_MSG)
+    public String loadBulkJittered(String id) throws InterruptedException {
+        return load(id);
+    }
+
+    private String load(String id) throws InterruptedException {
+        loaderStats.record();
+        if (loadLatencyMs > 0) {
+            Thread.sleep(loadLatencyMs);
+        }
+        return "value-" + id;
+    }
+
+    /**
+     * 加载调用统计，按时间片记录调用次数用于观察加载峰值
+     */
+    public static class LoaderStats {
+
+        /**
+         * 时间片长度（毫秒）
+         */
+        public static final long SLICE_MS = 100;
+
+        private static final int MAX_SLICES = 36_000;
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicLongArray slices = new AtomicLongArray(MAX_SLICES);
+
+        private volatile long startMs = System.currentTimeMillis();
+
+        /**
+         * 记录一次加载
+         */
+        public void record() {
+            total.incrementAndGet();
+            long slice = (System.currentTimeMillis() - startMs) / SLICE_MS;
+            if (slice >= 0 && slice < MAX_SLICES) {
+                slices.incrementAndGet((int) slice);
+            }
+        }
+
+        /**
+         * 累计加载次数
+         */
+        public long total() {
+            return total.get();
+        }
+
+        /**
+         * 单个时间片内的最大加载次数
+         */
+        public long peakPerSlice() {
+            long peak = 0;
+            for (int i = 0; i < slices.length(); i++) {
+                peak = Math.max(peak, slices.get(i));
+            }
+            return peak;
+        }
+
+        /**
+         * 清零并以当前时刻作为新的起点
+         */
+        public void reset() {
+            total.set(0);
+            for (int i = 0; i < slices.length(); i++) {
+                slices.set(i, 0);
+            }
+            startMs = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.imu.toolkit.redisson.loadtest;
+
+import com.imu.toolkit.redisson.aspect.AddCacheAspect;
+import com.imu.toolkit.redisson.backend.BatchingCacheBackend;
+import com.imu.toolkit.redisson.backend.CacheBackend;
+import com.imu.toolkit.redisson.backend.InMemoryCacheBackend;
+import com.imu.toolkit.redisson.backend.RedissonCacheBackend;
+import com.imu.toolkit.redisson.loadtest.LoadTestTarget.LoaderStats;
+import com.imu.toolkit.redisson.tuning.ParameterOverrides;
+import com.imu.toolkit.redisson.utils.EntityListCache;
+import com.imu.toolkit.redisson.utils.RCache;
+import com.imu.toolkit.redisson.utils.TimeUtil;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 缓存击穿、穿透、雪崩压测工具
+ * 模拟多个客户端（每个客户端一个独立的Spring容器和切面实例，相当于一个JVM）共享同一存储后端，
+ * 每个客户端多线程并发调用 {@link LoadTestTarget} 的缓存方法，统计数据库加载次数、互斥锁等待超时、
+ * 延迟百分位和每次请求的后端调用数（管道批次和脚本计为一次调用，不等于Redis命令数）
+ * <p>
+ * 默认使用 {@link InMemoryCacheBackend} 作为本地Redis替身，也可通过 --redis 指定真实Redis
+ * <p>
+ * 参数：--clients=4 --threads=16 --duration=10s --loadLatency=50ms --keys=2000
+ * --scenarios=hot,early-refresh,penetration,avalanche,avalanche-jitter --virtual --redis=redis://127.0.0.1:6379
+ * --readBatchMicros=200（开启读合并，调用数统计的是合并后的批量读取）
+ */
+public final class StampedeLoadTest {
+
+    private static final String HOT_KEY = "hot";
+
+    private StampedeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        RedissonClient redissonClient = null;
+        CacheBackend delegate;
+        if (options.redisAddress != null) {
+            Config config = new Config();
+            config.useSingleServer().setAddress(options.redisAddress);
+            redissonClient = Redisson.create(config);
+            delegate = new RedissonCacheBackend(redissonClient);
+        } else {
+            delegate = new InMemoryCacheBackend();
+        }
+        CountingCacheBackend backend = new CountingCacheBackend(delegate);
+        CacheBackend clientBackend = options.readBatchMicros > 0
+                ? new BatchingCacheBackend(backend, options.readBatchMicros, 64, null) : backend;
+        LoaderStats loaderStats = new LoaderStats();
+
+        List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+        List<LoadTestTarget> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < options.clients; i++) {
+                AnnotationConfigApplicationContext context = createClient(clientBackend, loaderStats, options.loadLatencyMs);
+                contexts.add(context);
+                clients.add(context.getBean(LoadTestTarget.class));
+            }
+
+            System.out.printf("backend=%s clients=%d threads/client=%d duration=%dms loadLatency=%dms keys=%d virtual=%s readBatch=%dus%n",
+                    options.redisAddress != null ? options.redisAddress : "memory", options.clients, options.threads,
+                    options.durationMs, options.loadLatencyMs, options.keys, options.virtual, options.readBatchMicros);
+            System.out.println(ScenarioResult.HEADER);
+            Map<String, Scenario> scenarios = scenarios(options);
+            for (String name : options.scenarios) {
+                Scenario scenario = scenarios.get(name);
+                if (scenario == null) {
+                    throw new IllegalArgumentException("unknown scenario: " + name + ", available: " + scenarios.keySet());
+                }
+                System.out.println(run(scenario, clients, options, backend, loaderStats).format());
+            }
+        } finally {
+            contexts.forEach(AnnotationConfigApplicationContext::close);
+            if (clientBackend instanceof BatchingCacheBackend batchingBackend) {
+                batchingBackend.close();
+            }
+            if (delegate instanceof InMemoryCacheBackend inMemoryBackend) {
+                inMemoryBackend.close();
+            }
+            if (redissonClient != null) {
+                redissonClient.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 创建一个模拟客户端：独立的Spring容器、缓存切面和代理后的目标服务
+     */
+    private static AnnotationConfigApplicationContext createClient(CacheBackend backend, LoaderStats loaderStats,
+                                                                   long loadLatencyMs) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        AopConfigUtils.registerAspectJAnnotationAutoProxyCreatorIfNecessary(context);
+        AopConfigUtils.forceAutoProxyCreatorToUseClassProxying(context);
+        context.registerBean(RCache.class, () -> new RCache(backend));
+        context.registerBean(ParameterOverrides.class);
+        context.registerBean(EntityListCache.class);
+        context.registerBean(AddCacheAspect.class);
+        context.registerBean(LoadTestTarget.class, () -> new LoadTestTarget(loaderStats, loadLatencyMs));
+        context.refresh();
+        return context;
+    }
+
+    private static Map<String, Scenario> scenarios(Options options) {
+        long hotExpireMs = TimeUtil.parseTimeToMillis(LoadTestTarget.HOT_EXPIRE);
+        Supplier<String> hotKey = () -> HOT_KEY;
+        Supplier<String> missingKey = () -> "missing-" + ThreadLocalRandom.current().nextLong(1_000_000_000_000L);
+        Supplier<String> bulkKey = () -> "bulk-" + ThreadLocalRandom.current().nextInt(options.keys);
+
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("hot", new Scenario("hot", LoadTestTarget::loadHot, hotKey, hotExpireMs, false));
+        scenarios.put("early-refresh", new Scenario("early-refresh", LoadTestTarget::loadHotEarlyRefresh, hotKey, hotExpireMs, false));
+        scenarios.put("penetration", new Scenario("penetration", LoadTestTarget::loadMissing, missingKey, 0, false));
+        scenarios.put("avalanche", new Scenario("avalanche", LoadTestTarget::loadBulk, bulkKey, 0, true));
+        scenarios.put("avalanche-jitter", new Scenario("avalanche-jitter", LoadTestTarget::loadBulkJittered, bulkKey, 0, true));
+        return scenarios;
+    }
+
+    /**
+     * 执行一个场景
+     */
+    private static ScenarioResult run(Scenario scenario, List<LoadTestTarget> clients, Options options,
+                                      CountingCacheBackend backend, LoaderStats loaderStats) throws InterruptedException {
+        if (scenario.prewarm()) {
+            // 同一时刻加载全部键，使它们在同一时刻过期
+            prewarm(scenario, clients.get(0), options.keys);
+        }
+        loaderStats.reset();
+        backend.reset();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder requests = new LongAdder();
+        LongAdder timeouts = new LongAdder();
+        LongAdder errors = new LongAdder();
+        Thread.Builder builder = options.virtual ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(options.durationMs);
+        List<Thread> threads = new ArrayList<>();
+        for (LoadTestTarget client : clients) {
+            for (int i = 0; i < options.threads; i++) {
+                threads.add(builder.start(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String id = scenario.keys().get();
+                        long begin = System.nanoTime();
+                        try {
+                            scenario.call().call(client, id);
+                        } catch (RuntimeException e) {
+                            if (LoadTestTarget.LOAD_TIMEOUT_MSG.equals(e.getMessage())) {
+                                timeouts.increment();
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        histogram.record(System.nanoTime() - begin);
+                        requests.increment();
+                    }
+                }));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        // 热点键每个过期周期理想情况下只加载一次：周期为过期时间加一次加载耗时
+        double expectedLoads = scenario.expireMs() > 0
+                ? (double) elapsedMs / (scenario.expireMs() + options.loadLatencyMs) + 1 : 0;
+        return new ScenarioResult(scenario.name(), requests.sum(), elapsedMs, loaderStats.total(), expectedLoads,
+                loaderStats.peakPerSlice(), timeouts.sum(), errors.sum(), histogram, backend.calls());
+    }
+
+    private static void prewarm(Scenario scenario, LoadTestTarget client, int keys) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < keys; i++) {
+                String id = "bulk-" + i;
+                executor.execute(() -> {
+                    try {
+                        scenario.call().call(client, id);
+                    } catch (Exception ignored) {
+                        // 预热失败的键在压测阶段按未命中处理
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 场景调用
+     */
+    @FunctionalInterface
+    private interface ScenarioCall {
+        Object call(LoadTestTarget target, String id) throws Exception;
+    }
+
+    /**
+     * 场景定义
+     * @param name 场景名
+     * @param call 调用的缓存方法
+     * @param keys 每次请求的键生成器
+     * @param expireMs 热点键过期时间，用于计算每个过期周期的加载次数，0表示不计算
+     * @param prewarm 是否在压测前同时加载全部批量键
+     */
+    private record Scenario(String name, ScenarioCall call, Supplier<String> keys, long expireMs, boolean prewarm) {
+    }
+
+    /**
+     * 场景结果
+     */
+    private record ScenarioResult(String name, long requests, long elapsedMs, long loads, double expectedLoads,
+                                  long peakLoadsPerSlice, long timeouts, long errors, LatencyHistogram histogram,
+                                  long backendCalls) {
+
+        private static final String HEADER = String.format(
+                "%-17s %10s %10s %8s %10s %10s %12s %9s %7s %9s %9s %9s %9s %9s",
+                "scenario", "requests", "req/s", "loads", "loads/exp", "loads/req",
+                "peak/" + LoaderStats.SLICE_MS + "ms", "timeouts", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "calls/req");
+
+        private String format() {
+            return String.format("%-17s %10d %10.0f %8d %10s %10.4f %12d %9d %7d %9.3f %9.3f %9.3f %9.3f %9.2f",
+                    name, requests, requests * 1000.0 / Math.max(1, elapsedMs), loads,
+                    expectedLoads > 0 ? String.format("%.2f", loads / expectedLoads) : "-",
+                    (double) loads / Math.max(1, requests), peakLoadsPerSlice, timeouts, errors,
+                    millis(histogram.percentile(50)), millis(histogram.percentile(99)),
+                    millis(histogram.percentile(99.9)), millis(histogram.max()),
+                    (double) backendCalls / Math.max(1, requests));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * 命令行参数
+     */
+    private static final class Options {
+
+        private int clients = 4;
+
+        private int threads = 16;
+
+        private long durationMs = 10_000;
+
+        private long loadLatencyMs = 50;
+
+        private int keys = 2000;
+
+        private boolean virtual;
+
+        private String redisAddress;
+
+        private long readBatchMicros;
+
+        private List<String> scenarios = List.of("hot", "early-refresh", "penetration", "avalanche", "avalanche-jitter");
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("invalid argument: " + arg);
+                }
+                int separator = arg.indexOf('=');
+                String name = separator > 0 ? arg.substring(2, separator) : arg.substring(2);
+                String value = separator > 0 ? arg.substring(separator + 1) : "true";
+                switch (name) {
+                    case "clients" -> options.clients = Integer.parseInt(value);
+                    case "threads" -> options.threads = Integer.parseInt(value);
+                    case "duration" -> options.durationMs = TimeUtil.parseTimeToMillis(value);
+                    case "loadLatency" -> options.loadLatencyMs = TimeUtil.parseTimeToMillis(value);
+                    case "keys" -> options.keys = Integer.parseInt(value);
+                    case "virtual" -> options.virtual = Boolean.parseBoolean(value);
+                    case "redis" -> options.redisAddress = value;
+                    case "readBatchMicros" -> options.readBatchMicros = Long.parseLong(value);
+                    case "scenarios" -> options.scenarios = Arrays.asList(value.split(","));
+                    default -> throw new IllegalArgumentException("unknown argument: " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}